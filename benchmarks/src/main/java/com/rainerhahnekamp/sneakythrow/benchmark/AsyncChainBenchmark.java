@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.async;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.SneakyFuture;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Failure path of an asynchronous chain of {@code depth} stages. The supplier throws a preallocated
+ * exception, so the difference between {@code completableFuture} and {@code sneakyFuture} is
+ * mainly the {@code CompletionException} that {@code CompletableFuture} creates when it passes the
+ * failure on. The stages run on the calling thread to keep thread hand-offs out of the measurement.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AsyncChainBenchmark {
+  @Param({"1", "10"})
+  private int depth;
+
+  private final Executor direct = Runnable::run;
+  private final IOException exception = new IOException();
+  private final SneakySupplier<Integer, IOException> failing =
+      () -> {
+        throw exception;
+      };
+
+  @Benchmark
+  public Object completableFuture() {
+    CompletableFuture<Integer> future = CompletableFuture.supplyAsync(sneaked(failing), direct);
+    for (int i = 0; i < depth; i++) {
+      future = future.thenApply(value -> value + 1);
+    }
+    try {
+      return future.join();
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object sneakyFuture() {
+    SneakyFuture<Integer> future = async(failing, direct);
+    for (int i = 0; i < depth; i++) {
+      future = future.thenApplySneaky(value -> value + 1);
+    }
+    try {
+      return future.join();
+    } catch (Exception e) {
+      return e;
+    }
+  }
+}
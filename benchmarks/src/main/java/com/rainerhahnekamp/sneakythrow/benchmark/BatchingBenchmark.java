@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.batching;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.invokeAll;
+
+import com.rainerhahnekamp.sneakythrow.BatchSpec;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 1,000 concurrent lookups against a simulated database with 10 connections and a round trip of one
+ * millisecond. {@code perKey} makes one round trip per lookup, {@code batched} coalesces the
+ * lookups with {@code batching} into batches of up to 100 keys. Run on Java 21 or later, so that
+ * {@code invokeAll} uses virtual threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchingBenchmark {
+  private static final int LOOKUPS = 1_000;
+
+  private final Semaphore connections = new Semaphore(10);
+  private List<SneakySupplier<String, InterruptedException>> perKeyLookups;
+  private List<SneakySupplier<String, InterruptedException>> batchedLookups;
+
+  @Setup
+  public void setUp() {
+    Function<Integer, String> batched =
+        batching(this::loadAll, BatchSpec.maxSize(100).maxWait(Duration.ofNanos(200_000)));
+    perKeyLookups = new ArrayList<>();
+    batchedLookups = new ArrayList<>();
+    for (int i = 0; i < LOOKUPS; i++) {
+      int key = i;
+      perKeyLookups.add(() -> load(key));
+      batchedLookups.add(() -> batched.apply(key));
+    }
+  }
+
+  @Benchmark
+  public List<String> perKey() {
+    return invokeAll(perKeyLookups);
+  }
+
+  @Benchmark
+  public List<String> batched() {
+    return invokeAll(batchedLookups);
+  }
+
+  private String load(int key) throws InterruptedException {
+    roundTrip();
+    return Integer.toString(key);
+  }
+
+  private Map<Integer, String> loadAll(Set<Integer> keys) throws InterruptedException {
+    roundTrip();
+    Map<Integer, String> values = new HashMap<>();
+    for (Integer key : keys) {
+      values.put(key, key.toString());
+    }
+    return values;
+  }
+
+  private void roundTrip() throws InterruptedException {
+    connections.acquire();
+    try {
+      Thread.sleep(1);
+    } finally {
+      connections.release();
+    }
+  }
+}
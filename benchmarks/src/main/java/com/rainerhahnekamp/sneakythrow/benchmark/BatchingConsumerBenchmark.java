@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.batchingConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.BatchingConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Writes records to an unbuffered local file: {@code perElement} issues one write per record
+ * through a {@code sneaked} consumer, {@code batched} collects them with {@code batchingConsumer}
+ * and writes each batch at once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchingConsumerBenchmark {
+  @Param({"64", "512"})
+  private int maxBatch;
+
+  private final byte[] record = "2018-06-01T12:00:00Z,order,42\n".getBytes(StandardCharsets.UTF_8);
+  private Path file;
+  private OutputStream out;
+  private Consumer<byte[]> perElement;
+  private BatchingConsumer<byte[]> batched;
+
+  @Setup
+  public void setUp() throws IOException {
+    file = Files.createTempFile("sneakythrow", ".csv");
+    out = new FileOutputStream(file.toFile());
+    SneakyConsumer<byte[], IOException> write = out::write;
+    perElement = sneaked(write);
+    batched = batchingConsumer(this::writeAll, maxBatch, Duration.ofMillis(10));
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    batched.close();
+    out.close();
+    Files.delete(file);
+  }
+
+  @Benchmark
+  public void perElement() {
+    perElement.accept(record);
+  }
+
+  @Benchmark
+  public void batched() {
+    batched.accept(record);
+  }
+
+  private void writeAll(List<byte[]> records) throws IOException {
+    byte[] buffer = new byte[records.size() * record.length];
+    int position = 0;
+    for (byte[] bytes : records) {
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+    out.write(buffer);
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.breaker;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.BreakerPolicy;
+import com.rainerhahnekamp.sneakythrow.CircuitBreaker;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Overhead of a closed circuit breaker against {@code sneaked}, and the cost of failing fast
+ * against a call that throws a new exception. The breakers are shared by all benchmark threads, and
+ * the contended variants call them from four threads at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BreakerBenchmark {
+  private final SneakyFunction<String, Integer, Exception> parse = Integer::parseInt;
+  private final SneakyFunction<String, Integer, IOException> failing =
+      value -> {
+        throw new IOException(value);
+      };
+  private Function<String, Integer> sneaked;
+  private Function<String, Integer> closed;
+  private Function<String, Integer> open;
+  private Function<String, Integer> failingCall;
+
+  @Setup
+  public void setUp() {
+    sneaked = sneaked(parse);
+    closed = breaker(parse, new CircuitBreaker(BreakerPolicy.failureRate(0.5)));
+    CircuitBreaker tripped =
+        new CircuitBreaker(
+            BreakerPolicy.failureRate(0.5).minimumCalls(1).openFor(Duration.ofDays(1)));
+    open = breaker(failing, tripped);
+    failingCall = sneaked(failing);
+    try {
+      open.apply("trip");
+    } catch (Exception expected) {
+      // opens the breaker
+    }
+  }
+
+  @Benchmark
+  public int sneakedCall() {
+    return sneaked.apply("42");
+  }
+
+  @Benchmark
+  public int closedBreaker() {
+    return closed.apply("42");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int sneakedCallContended() {
+    return sneaked.apply("42");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int closedBreakerContended() {
+    return closed.apply("42");
+  }
+
+  @Benchmark
+  public Object openBreaker() {
+    try {
+      return open.apply("42");
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object failingCall() {
+    try {
+      return failingCall.apply("42");
+    } catch (Exception e) {
+      return e;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.specialized;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds {@code shapes} distinct lambda classes through one call site: 1 is monomorphic, 2
+ * bimorphic and 8 megamorphic.
+ *
+ * <p>All wrappers returned by {@code sneaked} share one lambda class, so the outer call stays
+ * monomorphic while the call to the user's lambda inside the wrapper sees every shape. {@code
+ * specialized} defines one wrapper class per lambda class, so the outer call sees every shape
+ * while the call to the user's lambda inside each wrapper stays monomorphic.
+ *
+ * <p>The stream variants feed the lambdas through the same {@code map} stage.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CallSiteMorphismBenchmark {
+  private static final int CALLS = 1024;
+
+  @Param({"1", "2", "8"})
+  private int shapes;
+
+  private String input = "42";
+  private Function<String, Integer>[] jdkFunctions;
+  private Function<String, Integer>[] sneakedFunctions;
+  private Function<String, Integer>[] specializedFunctions;
+  private List<String> values;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    Function<String, Integer>[] allJdk = Lambdas.jdkFunctions();
+    SneakyFunction<String, Integer, Exception>[] allSneaky = Lambdas.sneakyFunctions();
+
+    jdkFunctions = new Function[CALLS];
+    sneakedFunctions = new Function[CALLS];
+    specializedFunctions = new Function[CALLS];
+    for (int i = 0; i < CALLS; i++) {
+      jdkFunctions[i] = allJdk[i % shapes];
+      sneakedFunctions[i] = sneaked(allSneaky[i % shapes]);
+      specializedFunctions[i] = specialized(allSneaky[i % shapes]);
+    }
+    values = IntStream.range(0, CALLS / 8).mapToObj(Integer::toString).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public int jdk() {
+    int sum = 0;
+    for (Function<String, Integer> function : jdkFunctions) {
+      sum += function.apply(input);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public int sneakedWrappers() {
+    int sum = 0;
+    for (Function<String, Integer> function : sneakedFunctions) {
+      sum += function.apply(input);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public int specializedWrappers() {
+    int sum = 0;
+    for (Function<String, Integer> function : specializedFunctions) {
+      sum += function.apply(input);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public int sneakedStream() {
+    return stream(sneakedFunctions);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public int specializedStream() {
+    return stream(specializedFunctions);
+  }
+
+  private int stream(Function<String, Integer>[] functions) {
+    int sum = 0;
+    for (int i = 0; i < 8; i++) {
+      sum += values.stream().map(functions[i]).mapToInt(Integer::intValue).sum();
+    }
+    return sum;
+  }
+}
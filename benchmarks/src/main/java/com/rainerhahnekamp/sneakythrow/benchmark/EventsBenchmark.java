@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the JFR events of {@code sneaked} for exceptions that pass through the wrapper. The
+ * exception is preallocated, so only the wrapper and the event are measured. Without a recording,
+ * {@code sneakedThrowing} should cost the same as {@code directThrowing}. Run with {@code -jvmArgs
+ * -XX:StartFlightRecording} and a settings file that enables {@code SneakyExceptionThrown} for the
+ * cost of recording.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventsBenchmark {
+  private static final IOException EXCEPTION = new IOException("unavailable", null);
+
+  private final SneakyFunction<String, Integer, IOException> parse = Integer::parseInt;
+  private final SneakyFunction<String, Integer, IOException> fail =
+      value -> {
+        throw EXCEPTION;
+      };
+  private final Function<String, Integer> sneakedParse = sneaked(parse);
+  private final Function<String, Integer> sneakedFail = sneaked(fail);
+
+  @Benchmark
+  public int directCall() throws IOException {
+    return parse.apply("42");
+  }
+
+  @Benchmark
+  public int sneakedCall() {
+    return sneakedParse.apply("42");
+  }
+
+  @Benchmark
+  public Object directThrowing() {
+    try {
+      return fail.apply("42");
+    } catch (IOException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object sneakedThrowing() {
+    try {
+      return sneakedFail.apply("42");
+    } catch (Exception e) {
+      return e;
+    }
+  }
+}
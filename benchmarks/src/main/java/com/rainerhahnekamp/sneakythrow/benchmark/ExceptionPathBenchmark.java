@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.StacklessException;
+
+import java.text.ParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throws a checked exception {@code depth} frames below a {@code sneaked} function and catches it
+ * above, once with a regular exception and once with a {@link StacklessException}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExceptionPathBenchmark {
+  @Param({"10", "100"})
+  private int depth;
+
+  private Function<Integer, Integer> regular = sneaked(this::throwRegular);
+  private Function<Integer, Integer> stackless = sneaked(this::throwStackless);
+
+  @Benchmark
+  public Exception regular() {
+    try {
+      regular.apply(depth);
+      return null;
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Exception stackless() {
+    try {
+      stackless.apply(depth);
+      return null;
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  private int throwRegular(int remaining) throws ParseException {
+    if (remaining == 0) {
+      throw new ParseException("invalid", 0);
+    }
+    return throwRegular(remaining - 1) + 1;
+  }
+
+  private int throwStackless(int remaining) throws InvalidInputException {
+    if (remaining == 0) {
+      throw new InvalidInputException();
+    }
+    return throwStackless(remaining - 1) + 1;
+  }
+
+  static class InvalidInputException extends StacklessException {
+    InvalidInputException() {
+      super("invalid");
+    }
+  }
+}
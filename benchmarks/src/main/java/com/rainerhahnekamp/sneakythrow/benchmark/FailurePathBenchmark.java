@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attempt;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.MutableResult;
+import com.rainerhahnekamp.sneakythrow.Result;
+
+import java.text.ParseException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses inputs of which {@code failurePercent} percent are invalid, once with exceptions thrown
+ * through {@code sneaked} and once with {@code attempt}, which returns them as {@link Result}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FailurePathBenchmark {
+  private static final int INPUTS = 1000;
+
+  @Param({"0", "5", "20"})
+  private int failurePercent;
+
+  private String[] inputs;
+  private Function<String, Integer> sneakedParse = sneaked(FailurePathBenchmark::parse);
+  private MutableResult<Integer> holder = new MutableResult<>();
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    inputs = new String[INPUTS];
+    for (int i = 0; i < INPUTS; i++) {
+      inputs[i] = random.nextInt(100) < failurePercent ? "invalid" : Integer.toString(i);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public int throwing() {
+    int sum = 0;
+    for (String input : inputs) {
+      try {
+        sum += sneakedParse.apply(input);
+      } catch (Exception e) {
+        sum--;
+      }
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public int result() {
+    int sum = 0;
+    for (String input : inputs) {
+      Result<Integer> result = attempt(FailurePathBenchmark::parse, input);
+      sum += result.isSuccess() ? result.get() : -1;
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INPUTS)
+  public int mutableResult() {
+    int sum = 0;
+    for (String input : inputs) {
+      attempt(FailurePathBenchmark::parse, input, holder);
+      sum += holder.isSuccess() ? holder.get() : -1;
+    }
+    return sum;
+  }
+
+  static int parse(String input) throws ParseException {
+    int value = 0;
+    for (int i = 0; i < input.length(); i++) {
+      char c = input.charAt(i);
+      if (c < '0' || c > '9') {
+        throw new ParseException(input, i);
+      }
+      value = value * 10 + c - '0';
+    }
+    return value;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.util.function.Function;
+
+/** Eight lambdas with distinct classes, used to pollute the type profile of call sites. */
+final class Lambdas {
+  private Lambdas() {}
+
+  @SuppressWarnings("unchecked")
+  static Function<String, Integer>[] jdkFunctions() {
+    return new Function[] {
+      (Function<String, Integer>) s -> s.length(),
+      (Function<String, Integer>) s -> s.length() + 1,
+      (Function<String, Integer>) s -> s.length() + 2,
+      (Function<String, Integer>) s -> s.length() + 3,
+      (Function<String, Integer>) s -> s.length() + 4,
+      (Function<String, Integer>) s -> s.length() + 5,
+      (Function<String, Integer>) s -> s.length() + 6,
+      (Function<String, Integer>) s -> s.length() + 7
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  static SneakyFunction<String, Integer, Exception>[] sneakyFunctions() {
+    return new SneakyFunction[] {
+      (SneakyFunction<String, Integer, Exception>) s -> s.length(),
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 1,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 2,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 3,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 4,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 5,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 6,
+      (SneakyFunction<String, Integer, Exception>) s -> s.length() + 7
+    };
+  }
+}
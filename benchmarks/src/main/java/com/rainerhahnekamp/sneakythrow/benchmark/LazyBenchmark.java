@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.lazy;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.refreshing;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading an initialized value from {@code lazy} and {@code refreshing} against hand-written
+ * double-checked locking and a synchronized getter.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazyBenchmark {
+  private final Supplier<String> lazy = lazy(this::load);
+  private final Supplier<String> refreshing = refreshing(this::load, Duration.ofHours(1));
+  private volatile String doubleChecked;
+  private String synchronizedValue;
+
+  @Benchmark
+  public String lazySupplier() {
+    return lazy.get();
+  }
+
+  @Benchmark
+  public String refreshingSupplier() {
+    return refreshing.get();
+  }
+
+  @Benchmark
+  public String doubleCheckedLocking() throws Exception {
+    String value = doubleChecked;
+    if (value == null) {
+      synchronized (this) {
+        value = doubleChecked;
+        if (value == null) {
+          value = load();
+          doubleChecked = value;
+        }
+      }
+    }
+    return value;
+  }
+
+  @Benchmark
+  public synchronized String synchronizedGetter() throws Exception {
+    if (synchronizedValue == null) {
+      synchronizedValue = load();
+    }
+    return synchronizedValue;
+  }
+
+  private String load() throws Exception {
+    return "token";
+  }
+}
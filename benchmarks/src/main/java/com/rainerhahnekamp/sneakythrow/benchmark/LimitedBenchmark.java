@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.limited;
+
+import com.rainerhahnekamp.sneakythrow.LimitExceededException;
+import com.rainerhahnekamp.sneakythrow.LimitPolicy;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Simulation of 16 clients calling a stand-in downstream that serves four calls at a time in 200
+ * microseconds each and queues the rest. Without a limit, every call waits in the downstream
+ * queue. With {@code limited}, the limit settles at a small multiple of the capacity of the
+ * downstream: about as many calls complete, but they wait less, and the excess is rejected
+ * immediately.
+ *
+ * <p>The counters are totals of all measurement iterations: {@code completed} and {@code rejected}
+ * calls and the {@code latencyMicros} of the completed ones. Divide the latter by {@code
+ * completed} for the mean latency.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class LimitedBenchmark {
+  private static final long SERVICE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+  private final Semaphore downstream = new Semaphore(4, true);
+  private Function<Integer, Integer> limitedCall;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Outcomes {
+    public long completed;
+    public long rejected;
+    public long latencyMicros;
+
+    void record(long start) {
+      completed++;
+      latencyMicros += TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    limitedCall = limited(this::call, LimitPolicy.initialLimit(4));
+  }
+
+  @Benchmark
+  public void withoutLimit(Outcomes outcomes) throws InterruptedException {
+    long start = System.nanoTime();
+    call(1);
+    outcomes.record(start);
+  }
+
+  @Benchmark
+  public void withLimit(Outcomes outcomes) {
+    long start = System.nanoTime();
+    try {
+      limitedCall.apply(1);
+      outcomes.record(start);
+    } catch (Exception e) {
+      if (!(e instanceof LimitExceededException)) {
+        throw e;
+      }
+      outcomes.rejected++;
+      // the client backs off before it tries again
+      LockSupport.parkNanos(SERVICE_NANOS);
+    }
+  }
+
+  private int call(int request) throws InterruptedException {
+    downstream.acquire();
+    try {
+      LockSupport.parkNanos(SERVICE_NANOS);
+      return request;
+    } finally {
+      downstream.release();
+    }
+  }
+}
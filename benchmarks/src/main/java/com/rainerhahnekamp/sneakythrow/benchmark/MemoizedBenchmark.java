@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.memoized;
+
+import com.rainerhahnekamp.sneakythrow.CacheSpec;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Throughput and hit rate of {@code memoized} under a Zipfian distribution of 100,000 keys with a
+ * cache of 1,000 entries, against a bounded LRU map and an unbounded {@code computeIfAbsent}. The
+ * hit rate is {@code 1 - misses / calls} of the reported counters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoizedBenchmark {
+  private static final int KEYS = 100_000;
+  private static final int CACHE_SIZE = 1_000;
+
+  private Integer[] keys;
+  private int next;
+  private long loads;
+
+  private Function<Integer, String> memoized;
+  private Map<Integer, String> lru;
+  private Map<Integer, String> unbounded;
+  private SneakyFunction<Integer, String, IOException> load;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+    public long calls;
+    public long misses;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      calls = 0;
+      misses = 0;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    keys = zipf(1 << 16, KEYS, 0.99, new Random(42));
+    load =
+        key -> {
+          loads++;
+          Blackhole.consumeCPU(200);
+          return key.toString();
+        };
+    memoized = memoized(load, CacheSpec.maximumSize(CACHE_SIZE));
+    lru =
+        Collections.synchronizedMap(
+            new LinkedHashMap<Integer, String>(CACHE_SIZE * 2, 0.75f, true) {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+                return size() > CACHE_SIZE;
+              }
+            });
+    unbounded = new ConcurrentHashMap<>();
+  }
+
+  @Benchmark
+  public String memoizedFunction(Counters counters) {
+    long before = loads;
+    String value = memoized.apply(nextKey());
+    count(counters, before);
+    return value;
+  }
+
+  @Benchmark
+  public String lruMap(Counters counters) throws IOException {
+    long before = loads;
+    Integer key = nextKey();
+    String value = lru.get(key);
+    if (value == null) {
+      value = load.apply(key);
+      lru.put(key, value);
+    }
+    count(counters, before);
+    return value;
+  }
+
+  @Benchmark
+  public String computeIfAbsent(Counters counters) {
+    long before = loads;
+    String value =
+        unbounded.computeIfAbsent(
+            nextKey(),
+            key -> {
+              loads++;
+              Blackhole.consumeCPU(200);
+              return key.toString();
+            });
+    count(counters, before);
+    return value;
+  }
+
+  private Integer nextKey() {
+    return keys[next++ & (keys.length - 1)];
+  }
+
+  private void count(Counters counters, long before) {
+    counters.calls++;
+    counters.misses += loads - before;
+  }
+
+  private static Integer[] zipf(int samples, int range, double exponent, Random random) {
+    double[] cumulative = new double[range];
+    double sum = 0;
+    for (int i = 0; i < range; i++) {
+      sum += 1 / Math.pow(i + 1, exponent);
+      cumulative[i] = sum;
+    }
+    Integer[] keys = new Integer[samples];
+    for (int i = 0; i < samples; i++) {
+      double target = random.nextDouble() * sum;
+      int index = Arrays.binarySearch(cumulative, target);
+      keys[i] = index >= 0 ? index : -index - 1;
+    }
+    return keys;
+  }
+}
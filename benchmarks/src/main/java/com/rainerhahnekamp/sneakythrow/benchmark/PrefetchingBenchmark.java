@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.prefetching;
+
+import com.rainerhahnekamp.sneakythrow.Prefetcher;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading 100 pages from a source that waits {@value #FETCH_MICROS} µs per page and processing
+ * each one for about as long: one page after the other, against {@code prefetching} with a depth of
+ * 1 and 4. Prefetching overlaps the wait with the processing, so it should take about half as
+ * long. On a single core, a depth of 1 does not help, since the restarted producer only gets the
+ * core when the consumer waits.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefetchingBenchmark {
+  private static final int FETCH_MICROS = 200;
+  private static final int PAGES = 100;
+
+  @Param({"100000"})
+  private long tokens;
+
+  @Param({"1", "4"})
+  private int depth;
+
+  @Benchmark
+  public void sequential(Blackhole blackhole) throws IOException {
+    SneakySupplier<Optional<Integer>, IOException> pages = pages();
+    for (Optional<Integer> page = pages.get(); page.isPresent(); page = pages.get()) {
+      process(page.get(), blackhole);
+    }
+  }
+
+  @Benchmark
+  public void prefetched(Blackhole blackhole) {
+    try (Prefetcher<Integer> pages = prefetching(pages(), depth)) {
+      while (pages.hasNext()) {
+        process(pages.next(), blackhole);
+      }
+    }
+  }
+
+  private void process(int page, Blackhole blackhole) {
+    Blackhole.consumeCPU(tokens);
+    blackhole.consume(page);
+  }
+
+  private SneakySupplier<Optional<Integer>, IOException> pages() {
+    int[] next = new int[1];
+    return () -> {
+      if (next[0] == PAGES) {
+        return Optional.empty();
+      }
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(FETCH_MICROS));
+      return Optional.of(next[0]++);
+    };
+  }
+}
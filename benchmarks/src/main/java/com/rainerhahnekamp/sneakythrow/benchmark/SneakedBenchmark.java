@@ -0,0 +1,223 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneak;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of every {@code Sneaky.sneaked} overload and of {@code Sneaky.sneak} compared with the
+ * equivalent plain {@code java.util.function} lambda.
+ *
+ * <p>The sneaky variants wrap on every invocation, which is how {@code sneaked} is used inline in
+ * stream pipelines. Run with {@code -prof gc} to see whether the wrapper allocation survives.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SneakedBenchmark {
+  private String input = "42";
+  private String other = "24";
+  private int sink;
+
+  private SneakyBiConsumer<String, String, Exception> sneakyBiConsumer =
+      (a, b) -> sink += a.length() + b.length();
+  private SneakyBiFunction<String, String, Integer, Exception> sneakyBiFunction =
+      (a, b) -> a.length() + b.length();
+  private SneakyBinaryOperator<String, Exception> sneakyBinaryOperator =
+      (a, b) -> a.length() > b.length() ? a : b;
+  private SneakyBiPredicate<String, String, Exception> sneakyBiPredicate =
+      (a, b) -> a.length() == b.length();
+  private SneakyConsumer<String, Exception> sneakyConsumer = a -> sink += a.length();
+  private SneakyFunction<String, Integer, Exception> sneakyFunction = a -> a.length();
+  private SneakyPredicate<String, Exception> sneakyPredicate = a -> a.isEmpty();
+  private SneakyRunnable<Exception> sneakyRunnable = () -> sink++;
+  private SneakySupplier<String, Exception> sneakySupplier = () -> input;
+  private SneakyUnaryOperator<String, Exception> sneakyUnaryOperator = a -> a;
+
+  private BiConsumer<String, String> biConsumer = (a, b) -> sink += a.length() + b.length();
+  private BiFunction<String, String, Integer> biFunction = (a, b) -> a.length() + b.length();
+  private BinaryOperator<String> binaryOperator = (a, b) -> a.length() > b.length() ? a : b;
+  private BiPredicate<String, String> biPredicate = (a, b) -> a.length() == b.length();
+  private Consumer<String> consumer = a -> sink += a.length();
+  private Function<String, Integer> function = a -> a.length();
+  private Predicate<String> predicate = a -> a.isEmpty();
+  private Runnable runnable = () -> sink++;
+  private Supplier<String> supplier = () -> input;
+  private UnaryOperator<String> unaryOperator = a -> a;
+
+  private Function<String, Integer> preWrapped = sneaked(sneakyFunction);
+
+  @Benchmark
+  public int sneakedBiConsumer() {
+    sneaked(sneakyBiConsumer).accept(input, other);
+    return sink;
+  }
+
+  @Benchmark
+  public int jdkBiConsumer() {
+    biConsumer.accept(input, other);
+    return sink;
+  }
+
+  @Benchmark
+  public Integer sneakedBiFunction() {
+    return sneaked(sneakyBiFunction).apply(input, other);
+  }
+
+  @Benchmark
+  public Integer jdkBiFunction() {
+    return biFunction.apply(input, other);
+  }
+
+  @Benchmark
+  public String sneakedBinaryOperator() {
+    return sneaked(sneakyBinaryOperator).apply(input, other);
+  }
+
+  @Benchmark
+  public String jdkBinaryOperator() {
+    return binaryOperator.apply(input, other);
+  }
+
+  @Benchmark
+  public boolean sneakedBiPredicate() {
+    return sneaked(sneakyBiPredicate).test(input, other);
+  }
+
+  @Benchmark
+  public boolean jdkBiPredicate() {
+    return biPredicate.test(input, other);
+  }
+
+  @Benchmark
+  public int sneakedConsumer() {
+    sneaked(sneakyConsumer).accept(input);
+    return sink;
+  }
+
+  @Benchmark
+  public int jdkConsumer() {
+    consumer.accept(input);
+    return sink;
+  }
+
+  @Benchmark
+  public Integer sneakedFunction() {
+    return sneaked(sneakyFunction).apply(input);
+  }
+
+  @Benchmark
+  public Integer jdkFunction() {
+    return function.apply(input);
+  }
+
+  @Benchmark
+  public boolean sneakedPredicate() {
+    return sneaked(sneakyPredicate).test(input);
+  }
+
+  @Benchmark
+  public boolean jdkPredicate() {
+    return predicate.test(input);
+  }
+
+  @Benchmark
+  public int sneakedRunnable() {
+    sneaked(sneakyRunnable).run();
+    return sink;
+  }
+
+  @Benchmark
+  public int jdkRunnable() {
+    runnable.run();
+    return sink;
+  }
+
+  @Benchmark
+  public String sneakedSupplier() {
+    return sneaked(sneakySupplier).get();
+  }
+
+  @Benchmark
+  public String jdkSupplier() {
+    return supplier.get();
+  }
+
+  @Benchmark
+  public String sneakedUnaryOperator() {
+    return sneaked(sneakyUnaryOperator).apply(input);
+  }
+
+  @Benchmark
+  public String jdkUnaryOperator() {
+    return unaryOperator.apply(input);
+  }
+
+  @Benchmark
+  public String sneakSupplier() {
+    return sneak(sneakySupplier);
+  }
+
+  @Benchmark
+  public Integer sneakedFunctionPreWrapped() {
+    return preWrapped.apply(input);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.stream;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a source whose {@code next()} throws, like a {@code ResultSet}: materialized into a list
+ * and streamed, against {@code stream} over the source directly, sequential and parallel. Run with
+ * {@code -prof gc}: {@code gc.alloc.rate.norm} shows the list that materializing costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SneakyIteratorBenchmark {
+  @Param({"1000000"})
+  private int size;
+
+  @Benchmark
+  public long materialized() throws IOException {
+    SneakySupplier<Optional<Long>, IOException> rows = rows();
+    List<Long> list = new ArrayList<>();
+    for (Optional<Long> row = rows.get(); row.isPresent(); row = rows.get()) {
+      list.add(row.get());
+    }
+    return list.stream().filter(value -> value % 3 == 0).mapToLong(Long::longValue).sum();
+  }
+
+  @Benchmark
+  public long streamed() {
+    return stream(rows()).filter(value -> value % 3 == 0).reduce(0L, Long::sum);
+  }
+
+  @Benchmark
+  public long streamedParallel() {
+    return stream(rows()).parallel().filter(value -> value % 3 == 0).reduce(0L, Long::sum);
+  }
+
+  private SneakySupplier<Optional<Long>, IOException> rows() {
+    long[] next = new long[1];
+    return () -> next[0] < size ? Optional.of(next[0]++) : Optional.empty();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.stream;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A map, filter, map pipeline with a reduction, as {@code java.util.stream} with {@code sneaked}
+ * stages and as {@code SneakyStream}, sequential and parallel. Parallel results depend on the
+ * number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SneakyStreamBenchmark {
+  @Param({"100", "100000"})
+  private int size;
+
+  private List<String> values;
+
+  private final SneakyFunction<String, Integer, Exception> parse = Integer::parseInt;
+  private final SneakyPredicate<Integer, Exception> even = i -> i % 2 == 0;
+  private final SneakyFunction<Integer, Integer, Exception> half = i -> i / 2;
+
+  @Setup
+  public void setUp() {
+    values = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      values.add(Integer.toString(i));
+    }
+  }
+
+  @Benchmark
+  public int jdkSequential() {
+    return values.stream()
+        .map(sneaked(parse))
+        .filter(sneaked(even))
+        .map(sneaked(half))
+        .reduce(0, Integer::sum);
+  }
+
+  @Benchmark
+  public int sneakySequential() {
+    return stream(values).map(parse).filter(even).map(half).reduce(0, Integer::sum);
+  }
+
+  @Benchmark
+  public int jdkParallel() {
+    return values.parallelStream()
+        .map(sneaked(parse))
+        .filter(sneaked(even))
+        .map(sneaked(half))
+        .reduce(0, Integer::sum);
+  }
+
+  @Benchmark
+  public int sneakyParallel() {
+    return stream(values).parallel().map(parse).filter(even).map(half).reduce(0, Integer::sum);
+  }
+}
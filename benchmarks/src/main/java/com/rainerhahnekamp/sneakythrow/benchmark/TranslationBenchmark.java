@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow.benchmark;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.translating;
+
+import com.rainerhahnekamp.sneakythrow.ExceptionTranslator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of translating a thrown exception with {@code translating} against a hand-written chain of
+ * {@code instanceof} checks. The exceptions are preallocated, so only the translation is measured.
+ * Nine translations are registered for the levels of the hierarchy {@code L0} to {@code L8}, from
+ * the most specific to the most general, the way an {@code instanceof} chain has to order them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TranslationBenchmark {
+  static class L0 extends Exception {}
+
+  static class L1 extends L0 {}
+
+  static class L2 extends L1 {}
+
+  static class L3 extends L2 {}
+
+  static class L4 extends L3 {}
+
+  static class L5 extends L4 {}
+
+  static class L6 extends L5 {}
+
+  static class L7 extends L6 {}
+
+  static class L8 extends L7 {}
+
+  static class Translated extends RuntimeException {
+    Translated(Exception cause) {
+      super(null, cause, false, false);
+    }
+  }
+
+  @Param({"0", "8"})
+  private int depth;
+
+  private Exception exception;
+  private Supplier<Object> translated;
+  private SneakySupplier<Object, Exception> throwing;
+
+  @Setup
+  public void setUp() {
+    exception = depth == 0 ? new L0() : new L8();
+    throwing =
+        () -> {
+          throw exception;
+        };
+    ExceptionTranslator translator =
+        ExceptionTranslator.of(L8.class, Translated::new)
+            .and(L7.class, Translated::new)
+            .and(L6.class, Translated::new)
+            .and(L5.class, Translated::new)
+            .and(L4.class, Translated::new)
+            .and(L3.class, Translated::new)
+            .and(L2.class, Translated::new)
+            .and(L1.class, Translated::new)
+            .and(L0.class, Translated::new);
+    translated = translating(translator, throwing);
+  }
+
+  @Benchmark
+  public Object instanceofChain() {
+    try {
+      return throwing.get();
+    } catch (Exception e) {
+      return handWritten(e);
+    }
+  }
+
+  @Benchmark
+  public Object translator() {
+    try {
+      return translated.get();
+    } catch (Translated e) {
+      return e;
+    }
+  }
+
+  private static Object handWritten(Exception e) {
+    try {
+      if (e instanceof L8) {
+        throw new Translated(e);
+      } else if (e instanceof L7) {
+        throw new Translated(e);
+      } else if (e instanceof L6) {
+        throw new Translated(e);
+      } else if (e instanceof L5) {
+        throw new Translated(e);
+      } else if (e instanceof L4) {
+        throw new Translated(e);
+      } else if (e instanceof L3) {
+        throw new Translated(e);
+      } else if (e instanceof L2) {
+        throw new Translated(e);
+      } else if (e instanceof L1) {
+        throw new Translated(e);
+      } else if (e instanceof L0) {
+        throw new Translated(e);
+      }
+      throw new IllegalStateException(e);
+    } catch (Translated translated) {
+      return translated;
+    }
+  }
+}
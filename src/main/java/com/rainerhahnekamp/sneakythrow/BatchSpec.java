@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configures how {@link Sneaky#batching(SneakyFunction, BatchSpec)} collects keys into batches:
+ *
+ * <pre>
+ *     BatchSpec spec = BatchSpec.maxSize(100).maxWait(Duration.ofNanos(500_000));
+ * </pre>
+ *
+ * <p>A batch is loaded when it has {@code maxSize} keys or when {@code maxWait} has passed since
+ * its first key arrived, whichever happens first. The default {@code maxWait} is one millisecond.
+ *
+ * <p>Instances are immutable. Each method returns a new BatchSpec.
+ */
+public final class BatchSpec {
+  private final int maxSize;
+  private final long maxWaitNanos;
+  private final Executor executor;
+
+  private BatchSpec(int maxSize, long maxWaitNanos, Executor executor) {
+    this.maxSize = maxSize;
+    this.maxWaitNanos = maxWaitNanos;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a spec for batches of at most {@code maxSize} keys.
+   *
+   * @param maxSize maximal number of distinct keys per batch
+   * @return a new BatchSpec
+   */
+  public static BatchSpec maxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+    }
+    return new BatchSpec(maxSize, 1_000_000, null);
+  }
+
+  /**
+   * Sets the time a batch waits for further keys.
+   *
+   * @param maxWait maximal time between the first key of a batch and its loading
+   * @return a new BatchSpec
+   */
+  public BatchSpec maxWait(Duration maxWait) {
+    if (maxWait.isNegative() || maxWait.isZero()) {
+      throw new IllegalArgumentException("maxWait must be positive: " + maxWait);
+    }
+    return new BatchSpec(maxSize, maxWait.toNanos(), executor);
+  }
+
+  /**
+   * Sets the executor that loads batches which are not loaded by a waiting caller. By default, they
+   * are loaded on virtual threads, if available.
+   *
+   * @param executor loads the batches
+   * @return a new BatchSpec
+   */
+  public BatchSpec executor(Executor executor) {
+    return new BatchSpec(maxSize, maxWaitNanos, executor);
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  long getMaxWaitNanos() {
+    return maxWaitNanos;
+  }
+
+  Executor getExecutor() {
+    return executor == null ? SneakyExecutors.tasks() : executor;
+  }
+
+  @Override
+  public String toString() {
+    return "BatchSpec[maxSize=" + maxSize + ", maxWait=" + Duration.ofNanos(maxWaitNanos) + "]";
+  }
+}
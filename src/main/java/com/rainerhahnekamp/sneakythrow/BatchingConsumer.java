@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.SneakyExecutors.Scheduler;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Consumer that collects elements and passes them in batches to a lambda (Consumer) that takes a
+ * list. It is created by {@link Sneaky#batchingConsumer(SneakyConsumer, int, Duration)}:
+ *
+ * <pre>
+ *     try (BatchingConsumer&lt;Order&gt; sink =
+ *         batchingConsumer(this::insertAll, 500, Duration.ofMillis(50))) {
+ *         orders.forEach(sink);
+ *     }
+ * </pre>
+ *
+ * <p>A batch is passed on when it has {@code maxBatch} elements or when {@code maxDelay} has passed
+ * since an element arrived in an empty buffer. Full batches are passed on by the thread whose
+ * element completed them, so that producers slow down when the batch consumer cannot keep up.
+ * Delayed batches are passed on in the background. The batch consumer is never called concurrently.
+ *
+ * <p>An exception of a batch that is passed on in the background is thrown by the next call of
+ * {@link #accept(Object)}, which then does not accept its element, {@link #flush()} or {@link
+ * #close()}. The elements of a failed batch are not passed on again.
+ *
+ * <p>Instances are thread-safe and {@link #accept(Object)} does not lock. It checks whether this
+ * consumer is closed again after adding its element and takes the element back if so, while {@link
+ * #close()} marks this consumer closed before its final flush. Each element is therefore either
+ * rejected or passed on by that flush.
+ *
+ * @param <T> type of the elements
+ */
+public final class BatchingConsumer<T> implements Consumer<T>, AutoCloseable {
+  private final SneakyConsumer<List<T>, ?> consumer;
+  private final int maxBatch;
+  private final long maxDelayNanos;
+  private final Executor executor;
+  private final Scheduler scheduler;
+  private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final Object flushLock = new Object();
+  private volatile boolean closed;
+
+  BatchingConsumer(
+      SneakyConsumer<List<T>, ?> consumer,
+      int maxBatch,
+      long maxDelayNanos,
+      Executor executor,
+      Scheduler scheduler) {
+    if (maxBatch < 1) {
+      throw new IllegalArgumentException("maxBatch must be positive: " + maxBatch);
+    }
+    if (maxDelayNanos <= 0) {
+      throw new IllegalArgumentException("maxDelay must be positive");
+    }
+    this.consumer = consumer;
+    this.maxBatch = maxBatch;
+    this.maxDelayNanos = maxDelayNanos;
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Adds an element to the current batch.
+   *
+   * @param t the element
+   * @throws IllegalStateException if this consumer is closed
+   */
+  @Override
+  public void accept(T t) {
+    if (closed) {
+      throw new IllegalStateException("BatchingConsumer is closed");
+    }
+    rethrowFailure();
+    buffer.add(t);
+    int added = size.incrementAndGet();
+    if (closed && buffer.remove(t)) {
+      size.decrementAndGet();
+      throw new IllegalStateException("BatchingConsumer is closed");
+    }
+    if (added >= maxBatch) {
+      flush(maxBatch);
+    } else if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+      scheduleFlush();
+    }
+  }
+
+  /** Passes all collected elements on, without waiting for a batch to be full. */
+  public void flush() {
+    flush(1);
+    rethrowFailure();
+  }
+
+  /**
+   * Passes all collected elements on. Afterwards, no further elements are accepted. A batch that is
+   * passed on in the background at the same time is waited for, so that its exception is thrown.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    flush();
+  }
+
+  /**
+   * A rejection by the executor happens on the timer thread, so it is recorded like the failure of
+   * a delayed batch and the next element schedules again.
+   */
+  private void scheduleFlush() {
+    scheduler.schedule(
+        () -> {
+          try {
+            executor.execute(this::flushDelayed);
+          } catch (RejectedExecutionException e) {
+            failure.compareAndSet(null, e);
+            scheduled.set(false);
+          }
+        },
+        maxDelayNanos);
+  }
+
+  /** Records the failure under the flush lock, so a flush that waits for this one can throw it. */
+  private void flushDelayed() {
+    scheduled.set(false);
+    synchronized (flushLock) {
+      try {
+        flush(1);
+      } catch (Throwable throwable) {
+        failure.compareAndSet(null, throwable);
+      }
+    }
+    if (size.get() > 0 && scheduled.compareAndSet(false, true)) {
+      scheduleFlush();
+    }
+  }
+
+  private void flush(int minimum) {
+    synchronized (flushLock) {
+      while (size.get() >= minimum) {
+        List<T> batch = new ArrayList<>(Math.min(size.get(), maxBatch));
+        T element;
+        while (batch.size() < maxBatch && (element = buffer.poll()) != null) {
+          batch.add(element);
+        }
+        if (batch.isEmpty()) {
+          return;
+        }
+        size.addAndGet(-batch.size());
+        try {
+          consumer.accept(Collections.unmodifiableList(batch));
+        } catch (Exception e) {
+          throw sneakyThrow(e);
+        }
+      }
+    }
+  }
+
+  private void rethrowFailure() {
+    Throwable throwable = failure.getAndSet(null);
+    if (throwable != null) {
+      throw sneakyThrow(throwable);
+    }
+  }
+}
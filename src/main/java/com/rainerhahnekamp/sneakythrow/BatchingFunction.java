@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.SneakyExecutors.Scheduler;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Collects the keys of concurrent calls into batches and loads each batch with one call of a bulk
+ * function.
+ *
+ * <p>The first key of a batch schedules a timer for {@code maxWait}. Keys that arrive in the
+ * meantime join the batch, duplicates only once. The batch is loaded by the caller that adds its
+ * {@code maxSize}th key, since that caller would wait anyway, or by the executor when the timer
+ * fires. All callers of a batch wait on one shared completion and receive the bulk function's
+ * exception unchanged if it fails, or the executor's exception if it rejects the batch.
+ *
+ * <p>The timer only holds the number of its batch, not the batch, so a batch that is loaded because
+ * it is full is not retained until its timer fires.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+final class BatchingFunction<K, V> implements Function<K, V> {
+  private final SneakyFunction<Set<K>, Map<K, V>, ?> bulk;
+  private final int maxSize;
+  private final long maxWaitNanos;
+  private final Executor executor;
+  private final Scheduler scheduler;
+  private final Object lock = new Object();
+  private Batch<K, V> current;
+  private long batches;
+
+  BatchingFunction(SneakyFunction<Set<K>, Map<K, V>, ?> bulk, BatchSpec spec, Scheduler scheduler) {
+    this.bulk = bulk;
+    this.maxSize = spec.getMaxSize();
+    this.maxWaitNanos = spec.getMaxWaitNanos();
+    this.executor = spec.getExecutor();
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  public V apply(K key) {
+    return add(key, true).await(key);
+  }
+
+  SneakyFuture<V> applyAsync(K key) {
+    Batch<K, V> batch = add(key, false);
+    return SneakyFuture.thenApply(batch.done, ignored -> batch.await(key));
+  }
+
+  private Batch<K, V> add(K key, boolean loadInline) {
+    Batch<K, V> batch;
+    boolean full;
+    synchronized (lock) {
+      batch = current;
+      if (batch == null) {
+        batch = new Batch<>(++batches);
+        current = batch;
+        long number = batch.number;
+        scheduler.schedule(() -> timeout(number), maxWaitNanos);
+      }
+      batch.keys.add(key);
+      full = batch.keys.size() >= maxSize;
+      if (full) {
+        current = null;
+      }
+    }
+    if (full) {
+      if (loadInline) {
+        load(batch);
+      } else {
+        loadLater(batch);
+      }
+    }
+    return batch;
+  }
+
+  private void timeout(long number) {
+    Batch<K, V> batch;
+    synchronized (lock) {
+      batch = current;
+      if (batch == null || batch.number != number) {
+        return;
+      }
+      current = null;
+    }
+    loadLater(batch);
+  }
+
+  private void loadLater(Batch<K, V> batch) {
+    try {
+      executor.execute(() -> load(batch));
+    } catch (RuntimeException e) {
+      batch.failure = e;
+      batch.done.complete(null);
+    }
+  }
+
+  private void load(Batch<K, V> batch) {
+    try {
+      batch.values = bulk.apply(Collections.unmodifiableSet(batch.keys));
+    } catch (Throwable throwable) {
+      batch.failure = throwable;
+    }
+    batch.done.complete(null);
+  }
+
+  private static final class Batch<K, V> {
+    private final long number;
+    private final Set<K> keys = new LinkedHashSet<>();
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private Map<K, V> values;
+    private Throwable failure;
+
+    Batch(long number) {
+      this.number = number;
+    }
+
+    V await(K key) {
+      try {
+        done.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw sneakyThrow(e);
+      } catch (ExecutionException e) {
+        throw sneakyThrow(e.getCause());
+      }
+      if (failure != null) {
+        throw sneakyThrow(failure);
+      }
+      return values == null ? null : values.get(key);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.time.Duration;
+
+/**
+ * Configures when a {@link CircuitBreaker} opens:
+ *
+ * <pre>
+ *     BreakerPolicy policy = BreakerPolicy.failureRate(0.5)
+ *         .minimumCalls(50)
+ *         .window(Duration.ofSeconds(30))
+ *         .openFor(Duration.ofSeconds(10));
+ * </pre>
+ *
+ * <p>The breaker opens when at least {@code minimumCalls} calls were made within the {@code window}
+ * and the share of failed calls reaches the {@code failureRate}. It stays open for {@code openFor}
+ * before a single probe call may pass. By default, at least 20 calls within 10 seconds are required
+ * and the breaker stays open for 5 seconds.
+ *
+ * <p>Instances are immutable. Each method returns a new BreakerPolicy.
+ */
+public final class BreakerPolicy {
+  private final double failureRate;
+  private final int minimumCalls;
+  private final long windowNanos;
+  private final long openNanos;
+
+  private BreakerPolicy(double failureRate, int minimumCalls, long windowNanos, long openNanos) {
+    this.failureRate = failureRate;
+    this.minimumCalls = minimumCalls;
+    this.windowNanos = windowNanos;
+    this.openNanos = openNanos;
+  }
+
+  /**
+   * Creates a policy that opens the breaker when the given share of calls fails.
+   *
+   * @param failureRate greater than 0 and at most 1
+   * @return a new BreakerPolicy
+   */
+  public static BreakerPolicy failureRate(double failureRate) {
+    if (!(failureRate > 0 && failureRate <= 1)) {
+      throw new IllegalArgumentException("failureRate must be in (0, 1]: " + failureRate);
+    }
+    return new BreakerPolicy(failureRate, 20, 10_000_000_000L, 5_000_000_000L);
+  }
+
+  /**
+   * Sets the number of calls within the window that is required before the breaker may open.
+   *
+   * @param minimumCalls at least 1
+   * @return a new BreakerPolicy
+   */
+  public BreakerPolicy minimumCalls(int minimumCalls) {
+    if (minimumCalls < 1) {
+      throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+    }
+    return new BreakerPolicy(failureRate, minimumCalls, windowNanos, openNanos);
+  }
+
+  /**
+   * Sets the time span of the calls that count. It is divided into {@value CircuitBreaker#BUCKETS}
+   * buckets, so calls drop out in steps of a tenth of it.
+   *
+   * @param window time span of the failure rate
+   * @return a new BreakerPolicy
+   */
+  public BreakerPolicy window(Duration window) {
+    if (window.toNanos() < CircuitBreaker.BUCKETS) {
+      throw new IllegalArgumentException("window is too short: " + window);
+    }
+    return new BreakerPolicy(failureRate, minimumCalls, window.toNanos(), openNanos);
+  }
+
+  /**
+   * Sets how long the breaker stays open before a probe call may pass.
+   *
+   * @param openFor time without calls
+   * @return a new BreakerPolicy
+   */
+  public BreakerPolicy openFor(Duration openFor) {
+    if (openFor.isNegative()) {
+      throw new IllegalArgumentException("openFor must not be negative: " + openFor);
+    }
+    return new BreakerPolicy(failureRate, minimumCalls, windowNanos, openFor.toNanos());
+  }
+
+  double getFailureRate() {
+    return failureRate;
+  }
+
+  int getMinimumCalls() {
+    return minimumCalls;
+  }
+
+  long getWindowNanos() {
+    return windowNanos;
+  }
+
+  long getOpenNanos() {
+    return openNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "BreakerPolicy[failureRate="
+        + failureRate
+        + ", minimumCalls="
+        + minimumCalls
+        + ", window="
+        + Duration.ofNanos(windowNanos)
+        + ", openFor="
+        + Duration.ofNanos(openNanos)
+        + "]";
+  }
+}
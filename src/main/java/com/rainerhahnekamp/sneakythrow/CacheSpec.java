@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Configures the cache of {@link Sneaky#memoized(SneakyFunction, CacheSpec)}:
+ *
+ * <pre>
+ *     CacheSpec spec = CacheSpec.maximumSize(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .cacheFailuresFor(Duration.ofSeconds(1));
+ * </pre>
+ *
+ * <p>Instances are immutable. Each method returns a new CacheSpec.
+ */
+public final class CacheSpec {
+  private final long maximumSize;
+  private final long expireAfterWriteNanos;
+  private final long failureTtlNanos;
+  private final LongSupplier ticker;
+
+  private CacheSpec(
+      long maximumSize, long expireAfterWriteNanos, long failureTtlNanos, LongSupplier ticker) {
+    this.maximumSize = maximumSize;
+    this.expireAfterWriteNanos = expireAfterWriteNanos;
+    this.failureTtlNanos = failureTtlNanos;
+    this.ticker = ticker;
+  }
+
+  /**
+   * Creates a spec for a cache that holds at most {@code maximumSize} values. Values are kept until
+   * they are evicted and failures are not cached.
+   *
+   * @param maximumSize maximal number of cached values
+   * @return a new CacheSpec
+   */
+  public static CacheSpec maximumSize(long maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+    }
+    return new CacheSpec(maximumSize, 0, 0, System::nanoTime);
+  }
+
+  /**
+   * Removes values after {@code duration} has passed since they were loaded.
+   *
+   * @param duration time a value is cached
+   * @return a new CacheSpec
+   */
+  public CacheSpec expireAfterWrite(Duration duration) {
+    return new CacheSpec(maximumSize, positiveNanos(duration), failureTtlNanos, ticker);
+  }
+
+  /**
+   * Caches failures for {@code duration}. During that time, calls with the same argument rethrow
+   * the exception instead of calling the function again.
+   *
+   * @param duration time a failure is cached
+   * @return a new CacheSpec
+   */
+  public CacheSpec cacheFailuresFor(Duration duration) {
+    return new CacheSpec(maximumSize, expireAfterWriteNanos, positiveNanos(duration), ticker);
+  }
+
+  CacheSpec ticker(LongSupplier ticker) {
+    return new CacheSpec(maximumSize, expireAfterWriteNanos, failureTtlNanos, ticker);
+  }
+
+  long getMaximumSize() {
+    return maximumSize;
+  }
+
+  long getExpireAfterWriteNanos() {
+    return expireAfterWriteNanos;
+  }
+
+  long getFailureTtlNanos() {
+    return failureTtlNanos;
+  }
+
+  LongSupplier getTicker() {
+    return ticker;
+  }
+
+  private static long positiveNanos(Duration duration) {
+    if (duration.isNegative() || duration.isZero()) {
+      throw new IllegalArgumentException("duration must be positive: " + duration);
+    }
+    return duration.toNanos();
+  }
+
+  @Override
+  public String toString() {
+    return "CacheSpec[maximumSize="
+        + maximumSize
+        + ", expireAfterWrite="
+        + Duration.ofNanos(expireAfterWriteNanos)
+        + ", cacheFailuresFor="
+        + Duration.ofNanos(failureTtlNanos)
+        + "]";
+  }
+}
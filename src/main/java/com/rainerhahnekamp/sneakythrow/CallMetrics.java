@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls lambdas and records the number of calls, the failures by exception class and the latencies
+ * under one name. It is used by the {@code Sneaky.instrumented} wrappers. While {@link
+ * SneakyMetrics} is disabled, it only calls the lambdas. While it is enabled, a sample of the calls
+ * is also emitted as JFR event, see {@link SneakyEvents}.
+ */
+final class CallMetrics {
+  private final String name;
+  private final LongAdder calls = new LongAdder();
+  private final ConcurrentMap<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+  private final LatencyHistogram latencies = new LatencyHistogram();
+
+  CallMetrics(String name) {
+    this.name = name;
+  }
+
+  <T, R> R apply(SneakyFunction<T, R, ?> function, T t) {
+    return time((f, a, ignored) -> f.apply(a), function, t, null);
+  }
+
+  <T, U, R> R apply(SneakyBiFunction<T, U, R, ?> biFunction, T t, U u) {
+    return time(SneakyBiFunction::apply, biFunction, t, u);
+  }
+
+  <T> void accept(SneakyConsumer<T, ?> consumer, T t) {
+    time(
+        (c, a, ignored) -> {
+          c.accept(a);
+          return null;
+        },
+        consumer,
+        t,
+        null);
+  }
+
+  <T, U> void accept(SneakyBiConsumer<T, U, ?> biConsumer, T t, U u) {
+    time(
+        (c, a, b) -> {
+          c.accept(a, b);
+          return null;
+        },
+        biConsumer,
+        t,
+        u);
+  }
+
+  <T> boolean test(SneakyPredicate<T, ?> predicate, T t) {
+    return time((p, a, ignored) -> p.test(a), predicate, t, null);
+  }
+
+  <T, U> boolean test(SneakyBiPredicate<T, U, ?> biPredicate, T t, U u) {
+    return time(SneakyBiPredicate::test, biPredicate, t, u);
+  }
+
+  <T> T get(SneakySupplier<T, ?> supplier) {
+    return time((s, ignored, alsoIgnored) -> s.get(), supplier, null, null);
+  }
+
+  void run(SneakyRunnable<?> runnable) {
+    time(
+        (r, ignored, alsoIgnored) -> {
+          r.run();
+          return null;
+        },
+        runnable,
+        null,
+        null);
+  }
+
+  CallSnapshot snapshot() {
+    Map<String, Long> failuresByType = new TreeMap<>();
+    failures.forEach((type, count) -> failuresByType.put(type.getName(), count.sum()));
+    return new CallSnapshot(
+        name,
+        calls.sum(),
+        failuresByType,
+        latencies.valueAt(0.5),
+        latencies.valueAt(0.9),
+        latencies.valueAt(0.99),
+        latencies.valueAt(0.999));
+  }
+
+  void reset() {
+    calls.reset();
+    failures.clear();
+    latencies.reset();
+  }
+
+  /**
+   * Calls {@code lambda} through {@code call} and records it while {@link SneakyMetrics} is
+   * enabled. The calls above pass non-capturing lambdas, so this allocates nothing per call.
+   */
+  private <L, T, U, R> R time(Call<L, T, U, R> call, L lambda, T t, U u) {
+    if (!SneakyMetrics.isEnabled()) {
+      try {
+        return call.call(lambda, t, u);
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+    }
+    Object event = SneakyEvents.beginCall();
+    long start = System.nanoTime();
+    R result;
+    try {
+      result = call.call(lambda, t, u);
+    } catch (Exception e) {
+      throw failed(start, event, e);
+    }
+    succeeded(start, event);
+    return result;
+  }
+
+  private void succeeded(long start, Object event) {
+    latencies.record(System.nanoTime() - start);
+    calls.increment();
+    SneakyEvents.endCall(event, name, null);
+  }
+
+  private RuntimeException failed(long start, Object event, Exception exception) {
+    latencies.record(System.nanoTime() - start);
+    calls.increment();
+    SneakyEvents.endCall(event, name, exception);
+    LongAdder count = failures.get(exception.getClass());
+    if (count == null) {
+      count = failures.computeIfAbsent(exception.getClass(), type -> new LongAdder());
+    }
+    count.increment();
+    return sneakyThrow(exception);
+  }
+
+  /** Calls a lambda of one of the functional interfaces with up to two arguments. */
+  @FunctionalInterface
+  private interface Call<L, T, U, R> {
+    R call(L lambda, T t, U u) throws Exception;
+  }
+}
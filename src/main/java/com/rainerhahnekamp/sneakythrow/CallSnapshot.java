@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The metrics of the instrumented lambdas of one name at a point in time, as returned by {@link
+ * SneakyMetrics#snapshot(String)}.
+ *
+ * <p>Latencies are in nanoseconds and include failed calls. They are upper bounds of the buckets of
+ * a histogram and at most 25% above the exact value. Calls that run while the snapshot is taken may
+ * be counted in some of the values only.
+ */
+public final class CallSnapshot {
+  private final String name;
+  private final long calls;
+  private final Map<String, Long> failuresByType;
+  private final long p50Nanos;
+  private final long p90Nanos;
+  private final long p99Nanos;
+  private final long p999Nanos;
+
+  CallSnapshot(
+      String name,
+      long calls,
+      Map<String, Long> failuresByType,
+      long p50Nanos,
+      long p90Nanos,
+      long p99Nanos,
+      long p999Nanos) {
+    this.name = name;
+    this.calls = calls;
+    this.failuresByType = Collections.unmodifiableMap(failuresByType);
+    this.p50Nanos = p50Nanos;
+    this.p90Nanos = p90Nanos;
+    this.p99Nanos = p99Nanos;
+    this.p999Nanos = p999Nanos;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of calls, including the failed ones.
+   *
+   * @return number of calls
+   */
+  public long getCalls() {
+    return calls;
+  }
+
+  /**
+   * Returns the number of failed calls.
+   *
+   * @return number of calls that threw an exception
+   */
+  public long getFailures() {
+    long sum = 0;
+    for (long failures : failuresByType.values()) {
+      sum += failures;
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the number of failed calls per exception class.
+   *
+   * @return an unmodifiable map from class name to count
+   */
+  public Map<String, Long> getFailuresByType() {
+    return failuresByType;
+  }
+
+  public long getP50Nanos() {
+    return p50Nanos;
+  }
+
+  public long getP90Nanos() {
+    return p90Nanos;
+  }
+
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  public long getP999Nanos() {
+    return p999Nanos;
+  }
+
+  @Override
+  public String toString() {
+    return "CallSnapshot[name="
+        + name
+        + ", calls="
+        + calls
+        + ", failures="
+        + failuresByType
+        + ", p50="
+        + p50Nanos
+        + "ns, p99="
+        + p99Nanos
+        + "ns]";
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.SneakyExecutors.Scheduler;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops calling a failing dependency. It is used by the {@code Sneaky.breaker} wrappers, which can
+ * share one breaker:
+ *
+ * <pre>
+ *     CircuitBreaker breaker = new CircuitBreaker(BreakerPolicy.failureRate(0.5));
+ *     Function&lt;String, User&gt; load = breaker(userClient::load, breaker);
+ *     Consumer&lt;User&gt; save = breaker(userClient::save, breaker);
+ * </pre>
+ *
+ * <p>While the breaker is closed, calls pass and their outcome is counted. When the failure rate of
+ * the {@link BreakerPolicy} is reached, the breaker opens and calls throw a {@link
+ * CircuitOpenException} without calling the lambda. After the open time, one call passes as probe.
+ * If it succeeds, the breaker closes, otherwise it opens again. Errors count as failures, so a
+ * probe that throws one opens the breaker again as well.
+ *
+ * <p>The outcomes are counted in a ring of {@value #BUCKETS} buckets, which the shared timer thread
+ * rotates. Failures are counted in a {@link LongAdder}. Successes are counted per thread in padded
+ * stripes that are written with an ordered store instead of a CAS, so a successful call in the
+ * closed state reads no clock, takes no lock and does not contend with other threads. Threads that
+ * share a stripe can lose an increment, which makes the failure rate slightly higher than it is.
+ * The failure rate is only computed after a failure.
+ */
+public final class CircuitBreaker {
+  static final int BUCKETS = 10;
+  private static final int STRIPES =
+      Integer.highestOneBit(Math.min(64, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+  private static final int PADDING = 8;
+  private static final int CLOSED = 0;
+  private static final int OPEN = 1;
+  private static final int HALF_OPEN = 2;
+
+  private final BreakerPolicy policy;
+  private final LongSupplier ticker;
+  private final AtomicInteger state = new AtomicInteger(CLOSED);
+  private final AtomicLong openUntil = new AtomicLong();
+  private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS);
+  private final CircuitOpenException open = new CircuitOpenException("Circuit breaker is open");
+  private volatile int current;
+
+  /** States of a breaker. */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  /**
+   * Creates a closed breaker.
+   *
+   * @param policy defines when the breaker opens
+   */
+  public CircuitBreaker(BreakerPolicy policy) {
+    this(policy, SneakyExecutors.scheduler(), System::nanoTime);
+  }
+
+  CircuitBreaker(BreakerPolicy policy, Scheduler scheduler, LongSupplier ticker) {
+    this.policy = policy;
+    this.ticker = ticker;
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.set(i, new Bucket());
+    }
+    new Rotation(this, scheduler, policy.getWindowNanos() / BUCKETS).schedule();
+  }
+
+  public State getState() {
+    return State.values()[state.get()];
+  }
+
+  <T, R> R apply(SneakyFunction<T, R, ?> function, T t) {
+    int permit = state.get();
+    if (permit != CLOSED) {
+      permit = acquireSlow();
+    }
+    R result;
+    try {
+      result = function.apply(t);
+    } catch (Throwable throwable) {
+      onFailure(permit);
+      throw sneakyThrow(throwable);
+    }
+    if (permit == CLOSED) {
+      buckets.get(current).success();
+    } else {
+      close();
+    }
+    return result;
+  }
+
+  private int acquireSlow() {
+    long until = openUntil.get();
+    long now = ticker.getAsLong();
+    if (now - until < 0 || !openUntil.compareAndSet(until, now + policy.getOpenNanos())) {
+      throw open;
+    }
+    state.set(HALF_OPEN);
+    return HALF_OPEN;
+  }
+
+  private void onFailure(int permit) {
+    if (permit != CLOSED) {
+      openUntil.set(ticker.getAsLong() + policy.getOpenNanos());
+      state.set(OPEN);
+      return;
+    }
+    buckets.get(current).failures.increment();
+    long failures = 0;
+    long calls = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      Bucket bucket = buckets.get(i);
+      long bucketFailures = bucket.failures.sum();
+      failures += bucketFailures;
+      calls += bucketFailures + bucket.successes();
+    }
+    if (calls >= policy.getMinimumCalls() && failures >= calls * policy.getFailureRate()) {
+      openUntil.set(ticker.getAsLong() + policy.getOpenNanos());
+      state.compareAndSet(CLOSED, OPEN);
+    }
+  }
+
+  private void close() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.set(i, new Bucket());
+    }
+    state.compareAndSet(HALF_OPEN, CLOSED);
+  }
+
+  private void rotate() {
+    int next = (current + 1) % BUCKETS;
+    buckets.set(next, new Bucket());
+    current = next;
+  }
+
+  private static final class Bucket {
+    private final AtomicLongArray successes = new AtomicLongArray(STRIPES * PADDING);
+    private final LongAdder failures = new LongAdder();
+
+    void success() {
+      int stripe = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+      successes.lazySet(stripe, successes.get(stripe) + 1);
+    }
+
+    long successes() {
+      long sum = 0;
+      for (int stripe = 0; stripe < STRIPES * PADDING; stripe += PADDING) {
+        sum += successes.get(stripe);
+      }
+      return sum;
+    }
+  }
+
+  /** Rotates the buckets until the breaker is garbage collected. */
+  private static final class Rotation implements Runnable {
+    private final WeakReference<CircuitBreaker> breaker;
+    private final Scheduler scheduler;
+    private final long intervalNanos;
+
+    private Rotation(CircuitBreaker breaker, Scheduler scheduler, long intervalNanos) {
+      this.breaker = new WeakReference<>(breaker);
+      this.scheduler = scheduler;
+      this.intervalNanos = intervalNanos;
+    }
+
+    private void schedule() {
+      scheduler.schedule(this, intervalNanos);
+    }
+
+    @Override
+    public void run() {
+      CircuitBreaker current = breaker.get();
+      if (current != null) {
+        current.rotate();
+        schedule();
+      }
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleSupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToDoubleFunction;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A {@link Result} of a double value. It is created by {@link
+ * Sneaky#attemptDouble(SneakyDoubleSupplier)} and avoids boxing the value.
+ *
+ * <p>This is a value-based class.
+ */
+public final class DoubleResult {
+  private final double value;
+  private final Exception failure;
+
+  private DoubleResult(double value, Exception failure) {
+    this.value = value;
+    this.failure = failure;
+  }
+
+  /**
+   * Creates a successful DoubleResult.
+   *
+   * @param value the value
+   * @return a successful DoubleResult
+   */
+  public static DoubleResult success(double value) {
+    return new DoubleResult(value, null);
+  }
+
+  /**
+   * Creates a failed DoubleResult.
+   *
+   * @param failure the exception
+   * @return a failed DoubleResult
+   */
+  public static DoubleResult failure(Exception failure) {
+    return new DoubleResult(0.0, Objects.requireNonNull(failure, "failure"));
+  }
+
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  public boolean isFailure() {
+    return failure != null;
+  }
+
+  /**
+   * Returns the value or sneaky throws the exception of a failure.
+   *
+   * @return the value
+   */
+  public double getAsDouble() {
+    if (failure != null) {
+      throw sneakyThrow(failure);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the exception of a failure.
+   *
+   * @return the exception
+   * @throws NoSuchElementException if this is a success
+   */
+  public Exception getFailure() {
+    if (failure == null) {
+      throw new NoSuchElementException("DoubleResult is a success");
+    }
+    return failure;
+  }
+
+  /**
+   * Returns the value or {@code other} if this is a failure.
+   *
+   * @param other value to return on failure
+   * @return the value or other
+   */
+  public double orElse(double other) {
+    return failure == null ? value : other;
+  }
+
+  /**
+   * Turns a failure into a success by computing a value from the exception.
+   *
+   * @param recovery function that can throw an exception
+   * @return this success or a DoubleResult of the recovery function
+   */
+  public DoubleResult recover(SneakyToDoubleFunction<? super Exception, ?> recovery) {
+    if (failure == null) {
+      return this;
+    }
+    try {
+      return success(recovery.applyAsDouble(failure));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof DoubleResult)) {
+      return false;
+    }
+    DoubleResult other = (DoubleResult) o;
+    return Double.compare(value, other.value) == 0 && Objects.equals(failure, other.failure);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Double.hashCode(value) + Objects.hashCode(failure);
+  }
+
+  @Override
+  public String toString() {
+    return failure == null ? "Success[" + value + "]" : "Failure[" + failure + "]";
+  }
+}
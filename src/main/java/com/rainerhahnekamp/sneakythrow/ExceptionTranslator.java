@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Translates exceptions into runtime exceptions by their type. It is used by the {@code
+ * Sneaky.translating} wrappers:
+ *
+ * <pre>
+ *     ExceptionTranslator translator =
+ *         ExceptionTranslator.of(IOException.class, UncheckedIOException::new)
+ *             .and(SQLException.class, PersistenceException::new);
+ *
+ *     Stream.of(path).map(translating(translator, Files::readAllLines));
+ * </pre>
+ *
+ * <p>An exception is translated by the translation registered for its class or, if there is none,
+ * for its nearest superclass. Exceptions without a translation are rethrown unchanged. The
+ * translation of each exception class is looked up once and then cached, so translating costs the
+ * same for deep exception hierarchies as for flat ones.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class ExceptionTranslator {
+  private static final Function<Exception, RuntimeException> RETHROW = Sneaky::sneakyThrow;
+
+  private final Map<Class<?>, Function<Exception, RuntimeException>> translations;
+  private final ClassValue<Function<Exception, RuntimeException>> cache =
+      new ClassValue<Function<Exception, RuntimeException>>() {
+        @Override
+        protected Function<Exception, RuntimeException> computeValue(Class<?> type) {
+          for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Function<Exception, RuntimeException> translation = translations.get(current);
+            if (translation != null) {
+              return translation;
+            }
+          }
+          return RETHROW;
+        }
+      };
+
+  private ExceptionTranslator(Map<Class<?>, Function<Exception, RuntimeException>> translations) {
+    this.translations = translations;
+  }
+
+  /**
+   * Creates a translator with a single translation.
+   *
+   * @param type exception class, includes its subclasses
+   * @param translation creates the runtime exception
+   * @param <X> type of the exception
+   * @return a new ExceptionTranslator
+   */
+  public static <X extends Exception> ExceptionTranslator of(
+      Class<X> type, Function<? super X, ? extends RuntimeException> translation) {
+    return new ExceptionTranslator(Collections.emptyMap()).and(type, translation);
+  }
+
+  /**
+   * Creates a translator with the translations of this one and an additional one. A translation
+   * that is already registered for {@code type} is replaced.
+   *
+   * @param type exception class, includes its subclasses
+   * @param translation creates the runtime exception
+   * @param <X> type of the exception
+   * @return a new ExceptionTranslator
+   */
+  public <X extends Exception> ExceptionTranslator and(
+      Class<X> type, Function<? super X, ? extends RuntimeException> translation) {
+    Map<Class<?>, Function<Exception, RuntimeException>> copy = new LinkedHashMap<>(translations);
+    copy.put(type, exception -> translation.apply(type.cast(exception)));
+    return new ExceptionTranslator(Collections.unmodifiableMap(copy));
+  }
+
+  /**
+   * Translates an exception. If there is no translation for it, the exception itself is thrown.
+   *
+   * @param exception exception to translate
+   * @return the translated exception
+   */
+  public RuntimeException translate(Exception exception) {
+    return cache.get(exception.getClass()).apply(exception);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+/**
+ * Estimates how often hash codes occurred recently, using a count-min sketch with four rows of
+ * counters that saturate at 15.
+ *
+ * <p>Each row has four to eight counters per expected element. After ten increments per expected
+ * element, all counters are halved, so that the estimates follow changes in frequency. Counters and
+ * the sample count are updated without synchronization, so under contention the estimates are
+ * approximate: a lost update makes an estimate slightly smaller and the halving may come a little
+ * late or twice. This is acceptable for a cache policy.
+ */
+final class FrequencySketch {
+  private static final int ROWS = 4;
+  private static final int MAX_COUNT = 15;
+  private static final long[] SEEDS = {
+    0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+  };
+
+  private final byte[] counters;
+  private final int width;
+  private final int shift;
+  private final long samplePeriod;
+  private long samples;
+
+  /** @param expectedSize number of distinct elements that should be told apart */
+  FrequencySketch(long expectedSize) {
+    int size = (int) Math.max(16, Math.min(expectedSize, 1 << 20));
+    this.width = Integer.highestOneBit(size - 1) << 3;
+    this.shift = 64 - Integer.numberOfTrailingZeros(width);
+    this.counters = new byte[ROWS * width];
+    this.samplePeriod = 10L * size;
+  }
+
+  void increment(int hashCode) {
+    for (int row = 0; row < ROWS; row++) {
+      int index = index(hashCode, row);
+      if (counters[index] < MAX_COUNT) {
+        counters[index]++;
+      }
+    }
+    if (++samples >= samplePeriod) {
+      reset();
+    }
+  }
+
+  int frequency(int hashCode) {
+    int frequency = MAX_COUNT;
+    for (int row = 0; row < ROWS; row++) {
+      frequency = Math.min(frequency, counters[index(hashCode, row)]);
+    }
+    return frequency;
+  }
+
+  private int index(int hashCode, int row) {
+    long hash = (hashCode + SEEDS[row]) * SEEDS[row];
+    return row * width + (int) (hash >>> shift);
+  }
+
+  private void reset() {
+    samples = 0;
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] >>= 1;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Configures when {@link Sneaky#hedged(SneakySupplier, HedgePolicy)} starts another attempt:
+ *
+ * <pre>
+ *     HedgePolicy policy = HedgePolicy.percentile(0.95).minDelay(Duration.ofMillis(2));
+ * </pre>
+ *
+ * <p>Another attempt is started when the running ones take longer than the given percentile of the
+ * recently observed latencies, but not before {@code minDelay} and at the latest after {@code
+ * maxDelay}. Until enough latencies are observed, the delay is {@code maxDelay}. The defaults are
+ * 100 microseconds for {@code minDelay}, one second for {@code maxDelay} and two attempts.
+ *
+ * <p>Instances are immutable. Each method returns a new HedgePolicy.
+ */
+public final class HedgePolicy {
+  private final double percentile;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final int maxAttempts;
+  private final Executor executor;
+
+  private HedgePolicy(
+      double percentile,
+      long minDelayNanos,
+      long maxDelayNanos,
+      int maxAttempts,
+      Executor executor) {
+    if (minDelayNanos > maxDelayNanos) {
+      throw new IllegalArgumentException("minDelay must not exceed maxDelay");
+    }
+    this.percentile = percentile;
+    this.minDelayNanos = minDelayNanos;
+    this.maxDelayNanos = maxDelayNanos;
+    this.maxAttempts = maxAttempts;
+    this.executor = executor;
+  }
+
+  /**
+   * Creates a policy that hedges attempts which take longer than the given percentile.
+   *
+   * @param percentile between 0 and 1, exclusively
+   * @return a new HedgePolicy
+   */
+  public static HedgePolicy percentile(double percentile) {
+    if (!(percentile > 0 && percentile < 1)) {
+      throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+    }
+    return new HedgePolicy(percentile, 100_000, 1_000_000_000, 2, null);
+  }
+
+  /**
+   * Sets the shortest delay before another attempt.
+   *
+   * @param minDelay lower bound of the delay
+   * @return a new HedgePolicy
+   */
+  public HedgePolicy minDelay(Duration minDelay) {
+    if (minDelay.isNegative()) {
+      throw new IllegalArgumentException("minDelay must not be negative: " + minDelay);
+    }
+    return new HedgePolicy(percentile, minDelay.toNanos(), maxDelayNanos, maxAttempts, executor);
+  }
+
+  /**
+   * Sets the longest delay before another attempt. It is also used until enough latencies are
+   * observed.
+   *
+   * @param maxDelay upper bound of the delay
+   * @return a new HedgePolicy
+   */
+  public HedgePolicy maxDelay(Duration maxDelay) {
+    return new HedgePolicy(percentile, minDelayNanos, maxDelay.toNanos(), maxAttempts, executor);
+  }
+
+  /**
+   * Sets the number of attempts per call, including the first one.
+   *
+   * @param maxAttempts at least 2
+   * @return a new HedgePolicy
+   */
+  public HedgePolicy maxAttempts(int maxAttempts) {
+    if (maxAttempts < 2) {
+      throw new IllegalArgumentException("maxAttempts must be at least 2: " + maxAttempts);
+    }
+    return new HedgePolicy(percentile, minDelayNanos, maxDelayNanos, maxAttempts, executor);
+  }
+
+  /**
+   * Sets the executor that runs the attempts. By default, they run on virtual threads, if
+   * available.
+   *
+   * @param executor runs the attempts
+   * @return a new HedgePolicy
+   */
+  public HedgePolicy executor(Executor executor) {
+    return new HedgePolicy(percentile, minDelayNanos, maxDelayNanos, maxAttempts, executor);
+  }
+
+  double getPercentile() {
+    return percentile;
+  }
+
+  long getMinDelayNanos() {
+    return minDelayNanos;
+  }
+
+  long getMaxDelayNanos() {
+    return maxDelayNanos;
+  }
+
+  int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  Executor getExecutor() {
+    return executor == null ? SneakyExecutors.tasks() : executor;
+  }
+
+  @Override
+  public String toString() {
+    return "HedgePolicy[percentile="
+        + percentile
+        + ", minDelay="
+        + Duration.ofNanos(minDelayNanos)
+        + ", maxDelay="
+        + Duration.ofNanos(maxDelayNanos)
+        + ", maxAttempts="
+        + maxAttempts
+        + "]";
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs a lambda (Supplier) on an executor and starts further attempts when it takes longer than the
+ * percentile of the {@link HedgePolicy}. The first successful attempt wins and the others are
+ * interrupted. If an attempt fails while no other one runs, the next attempt starts immediately.
+ *
+ * <p>When a call succeeds, the latency of the winning attempt and the time the cancelled ones have
+ * run so far are recorded in a {@link LatencyHistogram} that all calls share. Failed attempts are
+ * not recorded. Recording the attempts instead of the call keeps the delay of hedging out of the
+ * observed latencies. The percentile is computed after {@value #MIN_SAMPLES} recordings and then
+ * every {@value #UPDATE_INTERVAL}. All counts are halved every {@value #DECAY_INTERVAL} recordings,
+ * so that old latencies fade out.
+ *
+ * @param <T> type of the value
+ */
+final class HedgedSupplier<T> implements Supplier<T> {
+  private static final int MIN_SAMPLES = 32;
+  private static final int UPDATE_INTERVAL = 64;
+  private static final int DECAY_INTERVAL = 4096;
+
+  private final SneakySupplier<T, ?> supplier;
+  private final HedgePolicy policy;
+  private final Executor executor;
+  private final LatencyHistogram latencies = new LatencyHistogram();
+  private final AtomicLong recorded = new AtomicLong();
+  private volatile long percentile = -1;
+
+  HedgedSupplier(SneakySupplier<T, ?> supplier, HedgePolicy policy) {
+    this.supplier = supplier;
+    this.policy = policy;
+    this.executor = policy.getExecutor();
+  }
+
+  @Override
+  public T get() {
+    Race race = new Race();
+    race.start();
+    return race.await(delayNanos());
+  }
+
+  long delayNanos() {
+    long current = percentile;
+    if (current < 0) {
+      return policy.getMaxDelayNanos();
+    }
+    return Math.min(Math.max(current, policy.getMinDelayNanos()), policy.getMaxDelayNanos());
+  }
+
+  private void record(long latency) {
+    latencies.record(latency);
+    long count = recorded.incrementAndGet();
+    if (count % DECAY_INTERVAL == 0) {
+      latencies.halve();
+    }
+    if (count == MIN_SAMPLES || count % UPDATE_INTERVAL == 0) {
+      percentile = latencies.valueAt(policy.getPercentile());
+    }
+  }
+
+  private final class Race {
+    private final FutureTask<?>[] attempts = new FutureTask<?>[policy.getMaxAttempts()];
+    private final long[] startTimes = new long[attempts.length];
+    private final boolean[] failedAttempts = new boolean[attempts.length];
+    private int started;
+    private int failed;
+    private boolean succeeded;
+    private boolean finished;
+    private T value;
+    private Throwable failure;
+
+    private void start() {
+      FutureTask<?> attempt;
+      int index;
+      synchronized (this) {
+        index = started++;
+        attempt = new FutureTask<>(() -> attempt(index), null);
+        attempts[index] = attempt;
+        startTimes[index] = System.nanoTime();
+      }
+      try {
+        executor.execute(attempt);
+      } catch (RejectedExecutionException e) {
+        attempt.cancel(false);
+        fail(index, e);
+      }
+    }
+
+    private void attempt(int index) {
+      try {
+        succeed(supplier.get());
+      } catch (Throwable throwable) {
+        fail(index, throwable);
+      }
+    }
+
+    private synchronized void succeed(T value) {
+      if (!succeeded && !finished) {
+        succeeded = true;
+        this.value = value;
+        notifyAll();
+      }
+    }
+
+    private synchronized void fail(int index, Throwable throwable) {
+      if (finished) {
+        return;
+      }
+      failedAttempts[index] = true;
+      if (failure == null) {
+        failure = throwable;
+      } else if (failure != throwable) {
+        failure.addSuppressed(throwable);
+      }
+      failed++;
+      notifyAll();
+    }
+
+    private T await(long delayNanos) {
+      try {
+        long deadline = System.nanoTime() + delayNanos;
+        while (true) {
+          synchronized (this) {
+            while (!succeeded && failed < started) {
+              if (started == attempts.length) {
+                wait();
+              } else {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                  break;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+              }
+            }
+            if (succeeded) {
+              recordLatencies();
+              return value;
+            }
+            if (failed == started && started == attempts.length) {
+              throw sneakyThrow(failure);
+            }
+          }
+          start();
+          deadline = System.nanoTime() + delayNanos;
+        }
+      } catch (InterruptedException e) {
+        throw sneakyThrow(e);
+      } finally {
+        cancelAll();
+      }
+    }
+
+    private void recordLatencies() {
+      long now = System.nanoTime();
+      for (int i = 0; i < started; i++) {
+        if (!failedAttempts[i]) {
+          record(now - startTimes[i]);
+        }
+      }
+    }
+
+    private synchronized void cancelAll() {
+      finished = true;
+      for (int i = 0; i < started; i++) {
+        attempts[i].cancel(true);
+      }
+    }
+  }
+}
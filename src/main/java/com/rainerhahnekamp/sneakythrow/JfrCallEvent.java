@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** JFR event for a sampled call of a {@code Sneaky.instrumented} wrapper. */
+@Name("com.rainerhahnekamp.sneakythrow.SneakyCall")
+@Label("Sneaky Call")
+@Category("SneakyThrow")
+@Description("A sampled call of an instrumented wrapper")
+final class JfrCallEvent extends Event {
+  @Label("Name")
+  String name;
+
+  @Label("Failure Class")
+  @Description("Class of the exception the call threw, null on success")
+  Class<?> failureClass;
+
+  static Object sample() {
+    JfrCallEvent event = new JfrCallEvent();
+    if (!event.isEnabled()
+        || ThreadLocalRandom.current().nextInt(SneakyEvents.CALL_SAMPLING) != 0) {
+      return null;
+    }
+    event.begin();
+    return event;
+  }
+
+  static void complete(Object call, String name, Exception failure) {
+    JfrCallEvent event = (JfrCallEvent) call;
+    event.end();
+    if (event.shouldCommit()) {
+      event.name = name;
+      event.failureClass = failure == null ? null : failure.getClass();
+      event.commit();
+    }
+  }
+}
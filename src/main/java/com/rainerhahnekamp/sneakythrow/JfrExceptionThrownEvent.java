@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a checked exception that leaves a wrapper. Only the class of the exception is
+ * recorded, since messages can contain user data.
+ */
+@Name("com.rainerhahnekamp.sneakythrow.SneakyExceptionThrown")
+@Label("Sneaky Exception Thrown")
+@Category("SneakyThrow")
+@Description("A checked exception that is thrown through a wrapper")
+final class JfrExceptionThrownEvent extends Event {
+  @Label("Exception Class")
+  Class<?> exceptionClass;
+
+  @Label("Wrapper Type")
+  @Description("Functional interface of the wrapper")
+  String wrapperType;
+
+  static void emit(Exception exception, String wrapperType) {
+    JfrExceptionThrownEvent event = new JfrExceptionThrownEvent();
+    if (event.isEnabled()) {
+      event.exceptionClass = exception.getClass();
+      event.wrapperType = wrapperType;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies.
+ *
+ * <p>Latencies are counted in logarithmic buckets with four sub-buckets per power of two, so a
+ * percentile is at most 25% above the exact value. Each bucket is a {@link LongAdder}, since most
+ * calls of a wrapper land in the same few buckets and would contend on a single counter. Reading a
+ * percentile scans all buckets and sees concurrent recordings partially.
+ */
+final class LatencyHistogram {
+  private static final int BUCKETS = 256;
+
+  private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+  LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  void record(long nanos) {
+    counts[index(nanos)].increment();
+  }
+
+  /**
+   * Returns the upper bound of the bucket that contains the percentile.
+   *
+   * @param percentile between 0 and 1
+   * @return the latency in nanoseconds or 0 if nothing was recorded
+   */
+  long valueAt(double percentile) {
+    long total = count();
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(total * percentile));
+    long sum = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      sum += counts[i].sum();
+      if (sum >= target) {
+        return upperBound(i);
+      }
+    }
+    return upperBound(BUCKETS - 1);
+  }
+
+  long count() {
+    long total = 0;
+    for (LongAdder count : counts) {
+      total += count.sum();
+    }
+    return total;
+  }
+
+  /**
+   * Halves all counts, so that older latencies weigh less than newer ones. Latencies that are
+   * recorded at the same time are kept.
+   */
+  void halve() {
+    for (LongAdder count : counts) {
+      long sum = count.sum();
+      count.add(-(sum - (sum >>> 1)));
+    }
+  }
+
+  void reset() {
+    for (LongAdder count : counts) {
+      count.reset();
+    }
+  }
+
+  private static int index(long nanos) {
+    if (nanos < 4) {
+      return (int) Math.max(nanos, 0);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    return exponent << 2 | (int) (nanos >>> (exponent - 2) & 3);
+  }
+
+  private static long upperBound(int index) {
+    if (index < 4) {
+      return index;
+    }
+    int exponent = index >>> 2;
+    long bound = ((5L + (index & 3)) << (exponent - 2)) - 1;
+    return bound < 0 ? Long.MAX_VALUE : bound;
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.function.Supplier;
+
+/**
+ * Supplier that calls a sneaky supplier once and then returns its value without locking. If the
+ * sneaky supplier throws, nothing is stored and the next call tries again.
+ *
+ * @param <T> type of the value
+ */
+final class LazySupplier<T> implements Supplier<T> {
+  private static final Object UNSET = new Object();
+
+  private SneakySupplier<T, ?> supplier;
+  private volatile Object value = UNSET;
+
+  LazySupplier(SneakySupplier<T, ?> supplier) {
+    this.supplier = supplier;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get() {
+    Object current = value;
+    if (current == UNSET) {
+      current = initialize();
+    }
+    return (T) current;
+  }
+
+  private synchronized Object initialize() {
+    if (value == UNSET) {
+      try {
+        value = supplier.get();
+      } catch (Exception e) {
+        throw sneakyThrow(e);
+      }
+      supplier = null;
+    }
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    Object current = value;
+    return current == UNSET ? "Lazy[not initialized]" : "Lazy[" + current + "]";
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.time.Duration;
+
+/**
+ * Configures the concurrency limit of {@link Sneaky#limited(SneakyFunction, LimitPolicy)}:
+ *
+ * <pre>
+ *     LimitPolicy policy = LimitPolicy.initialLimit(20)
+ *         .maxLimit(200)
+ *         .queue(50, Duration.ofMillis(10));
+ * </pre>
+ *
+ * <p>The limit grows while the latency stays below {@code latencyTolerance} times the lowest
+ * observed latency and shrinks in proportion when it exceeds it. By default, the limit is between 1
+ * and 1000, the tolerance is 1.5 and calls above the limit are rejected immediately.
+ *
+ * <p>Instances are immutable. Each method returns a new LimitPolicy.
+ */
+public final class LimitPolicy {
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double latencyTolerance;
+  private final int maxWaiting;
+  private final long maxWaitNanos;
+
+  private LimitPolicy(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      double latencyTolerance,
+      int maxWaiting,
+      long maxWaitNanos) {
+    if (minLimit > maxLimit) {
+      throw new IllegalArgumentException("minLimit must not exceed maxLimit");
+    }
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyTolerance = latencyTolerance;
+    this.maxWaiting = maxWaiting;
+    this.maxWaitNanos = maxWaitNanos;
+  }
+
+  /**
+   * Creates a policy that starts with {@code initialLimit} concurrent calls.
+   *
+   * @param initialLimit limit before any latency is observed
+   * @return a new LimitPolicy
+   */
+  public static LimitPolicy initialLimit(int initialLimit) {
+    if (initialLimit < 1) {
+      throw new IllegalArgumentException("initialLimit must be positive: " + initialLimit);
+    }
+    return new LimitPolicy(initialLimit, 1, Math.max(initialLimit, 1000), 1.5, 0, 0);
+  }
+
+  /**
+   * Sets the lowest limit.
+   *
+   * @param minLimit at least 1
+   * @return a new LimitPolicy
+   */
+  public LimitPolicy minLimit(int minLimit) {
+    if (minLimit < 1) {
+      throw new IllegalArgumentException("minLimit must be positive: " + minLimit);
+    }
+    return new LimitPolicy(
+        initialLimit, minLimit, maxLimit, latencyTolerance, maxWaiting, maxWaitNanos);
+  }
+
+  /**
+   * Sets the highest limit.
+   *
+   * @param maxLimit at least the minimal limit
+   * @return a new LimitPolicy
+   */
+  public LimitPolicy maxLimit(int maxLimit) {
+    return new LimitPolicy(
+        initialLimit, minLimit, maxLimit, latencyTolerance, maxWaiting, maxWaitNanos);
+  }
+
+  /**
+   * Sets how much slower than the lowest recent latency calls may become before the limit shrinks.
+   *
+   * @param latencyTolerance factor greater than 1
+   * @return a new LimitPolicy
+   */
+  public LimitPolicy latencyTolerance(double latencyTolerance) {
+    if (!(latencyTolerance > 1)) {
+      throw new IllegalArgumentException(
+          "latencyTolerance must be greater than 1: " + latencyTolerance);
+    }
+    return new LimitPolicy(
+        initialLimit, minLimit, maxLimit, latencyTolerance, maxWaiting, maxWaitNanos);
+  }
+
+  /**
+   * Lets calls above the limit wait for a free slot instead of being rejected immediately.
+   *
+   * @param maxWaiting maximal number of waiting calls
+   * @param maxWait maximal time a call waits
+   * @return a new LimitPolicy
+   */
+  public LimitPolicy queue(int maxWaiting, Duration maxWait) {
+    if (maxWaiting < 0) {
+      throw new IllegalArgumentException("maxWaiting must not be negative: " + maxWaiting);
+    }
+    return new LimitPolicy(
+        initialLimit, minLimit, maxLimit, latencyTolerance, maxWaiting, maxWait.toNanos());
+  }
+
+  int getInitialLimit() {
+    return Math.min(Math.max(initialLimit, minLimit), maxLimit);
+  }
+
+  int getMinLimit() {
+    return minLimit;
+  }
+
+  int getMaxLimit() {
+    return maxLimit;
+  }
+
+  double getLatencyTolerance() {
+    return latencyTolerance;
+  }
+
+  int getMaxWaiting() {
+    return maxWaiting;
+  }
+
+  long getMaxWaitNanos() {
+    return maxWaitNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "LimitPolicy[initialLimit="
+        + initialLimit
+        + ", minLimit="
+        + minLimit
+        + ", maxLimit="
+        + maxLimit
+        + ", latencyTolerance="
+        + latencyTolerance
+        + ", maxWaiting="
+        + maxWaiting
+        + ", maxWait="
+        + Duration.ofNanos(maxWaitNanos)
+        + "]";
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the concurrent calls of a lambda (Function) to a limit that adapts to their latency.
+ *
+ * <p>After each call, the smoothed latency is compared to the baseline, the lowest latency observed
+ * so far. The ratio of both, scaled by the tolerance and limited to [0.5, 1], is the gradient. The
+ * limit moves a small step towards {@code limit * gradient + sqrt(limit)}: it grows by the square
+ * root while the latency is tolerable and shrinks in proportion otherwise. It does not grow while
+ * less than half of it is used.
+ *
+ * <p>The baseline may only rise when the lowest latency of {@value #BASELINE_WINDOW} calls stays
+ * above it after the limit was halved for one window. Without this drain, calls that wait behind
+ * each other would raise the baseline and with it the limit.
+ *
+ * <p>The number of running calls is a compare-and-set counter. Only calls that wait for a free slot
+ * take a lock.
+ *
+ * @param <T> type of the argument
+ * @param <R> type of the result
+ */
+final class LimitedFunction<T, R> implements Function<T, R> {
+  static final int BASELINE_WINDOW = 1000;
+  private static final double SMOOTHING = 0.05;
+  private static final double LATENCY_WEIGHT = 0.1;
+
+  private final SneakyFunction<T, R, ?> function;
+  private final LimitPolicy policy;
+  private final LongSupplier ticker;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicLong limit;
+  private final AtomicLong smoothedLatency = new AtomicLong(Double.doubleToLongBits(-1));
+  private final AtomicLong baseline = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong windowMinimum = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong samples = new AtomicLong();
+  private volatile boolean probing;
+  private final Object lock = new Object();
+
+  LimitedFunction(SneakyFunction<T, R, ?> function, LimitPolicy policy, LongSupplier ticker) {
+    this.function = function;
+    this.policy = policy;
+    this.ticker = ticker;
+    this.limit = new AtomicLong(Double.doubleToLongBits(policy.getInitialLimit()));
+  }
+
+  @Override
+  public R apply(T t) {
+    int running = acquire();
+    long start = ticker.getAsLong();
+    try {
+      return function.apply(t);
+    } catch (Exception e) {
+      throw sneakyThrow(e);
+    } finally {
+      inFlight.decrementAndGet();
+      if (waiting.get() > 0) {
+        synchronized (lock) {
+          lock.notifyAll();
+        }
+      }
+      update(Math.max(1, ticker.getAsLong() - start), running);
+    }
+  }
+
+  int limit() {
+    return (int) Double.longBitsToDouble(limit.get());
+  }
+
+  private int acquire() {
+    int running = tryAcquire();
+    if (running > 0) {
+      return running;
+    }
+    if (waiting.incrementAndGet() > policy.getMaxWaiting()) {
+      waiting.decrementAndGet();
+      throw new LimitExceededException("Concurrency limit reached");
+    }
+    try {
+      long deadline = System.nanoTime() + policy.getMaxWaitNanos();
+      synchronized (lock) {
+        while (true) {
+          running = tryAcquire();
+          if (running > 0) {
+            return running;
+          }
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            throw new LimitExceededException("Concurrency limit reached");
+          }
+          TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+        }
+      }
+    } catch (InterruptedException e) {
+      throw sneakyThrow(e);
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+
+  private int tryAcquire() {
+    int current = limit();
+    while (true) {
+      int running = inFlight.get();
+      if (running >= current) {
+        return 0;
+      }
+      if (inFlight.compareAndSet(running, running + 1)) {
+        return running + 1;
+      }
+    }
+  }
+
+  private void update(long latency, int running) {
+    double smoothed = smooth(latency);
+    double gradient =
+        Math.max(
+            0.5, Math.min(1, policy.getLatencyTolerance() * updateBaseline(latency) / smoothed));
+    long bits = limit.get();
+    double current = Double.longBitsToDouble(bits);
+    if (gradient == 1 && running * 2 < current) {
+      return;
+    }
+    double target = current * gradient + Math.sqrt(current);
+    double next = current + (target - current) * SMOOTHING;
+    next = Math.min(Math.max(next, policy.getMinLimit()), policy.getMaxLimit());
+    // a lost update is as good as the next sample
+    limit.compareAndSet(bits, Double.doubleToLongBits(next));
+  }
+
+  private double smooth(long latency) {
+    while (true) {
+      long bits = smoothedLatency.get();
+      double current = Double.longBitsToDouble(bits);
+      double next = current < 0 ? latency : current + (latency - current) * LATENCY_WEIGHT;
+      if (smoothedLatency.compareAndSet(bits, Double.doubleToLongBits(next))) {
+        return next;
+      }
+    }
+  }
+
+  private long updateBaseline(long latency) {
+    if (latency < windowMinimum.get()) {
+      windowMinimum.accumulateAndGet(latency, Math::min);
+    }
+    if (samples.incrementAndGet() % BASELINE_WINDOW != 0) {
+      return baseline.accumulateAndGet(latency, Math::min);
+    }
+    long minimum = windowMinimum.getAndSet(Long.MAX_VALUE);
+    long current = baseline.get();
+    if (minimum <= current + (current >> 3)) {
+      probing = false;
+      return baseline.accumulateAndGet(minimum, Math::min);
+    }
+    if (probing) {
+      probing = false;
+      baseline.set(minimum);
+      return minimum;
+    }
+    // calls queue up behind each other, drain the queue before the baseline may rise
+    probing = true;
+    double halved = Math.max(Double.longBitsToDouble(limit.get()) / 2, policy.getMinLimit());
+    limit.set(Double.doubleToLongBits(halved));
+    return current;
+  }
+}
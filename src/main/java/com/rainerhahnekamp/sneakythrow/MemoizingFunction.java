@@ -0,0 +1,245 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Function that caches the values of a sneaky function per argument.
+ *
+ * <p>Only one thread calls the function for an argument at a time. Other threads asking for the
+ * same argument wait for its result, instead of blocking a whole bin of the map like {@link
+ * ConcurrentHashMap#computeIfAbsent} does. Running calls are kept in a map of their own, apart from
+ * the cached values, so they are shared even if their value is not admitted to the cache later.
+ *
+ * <p>How often an argument was used recently is estimated by a {@link FrequencySketch}, which also
+ * remembers arguments that are not cached. When the cache is full, an eviction hand moves over the
+ * entries like a clock and picks the least frequently used or an expired one of the next {@value
+ * #SAMPLE_SIZE} entries. A new entry only replaces it if its argument is used more often. Otherwise
+ * the new value is returned, but not cached. This keeps arguments that are used only once from
+ * pushing out the frequently used ones, as described for TinyLFU by Einziger et al. The sketch is
+ * updated without synchronization, so under contention its estimates are approximate.
+ *
+ * @param <T> type of the argument
+ * @param <R> type of the value
+ */
+final class MemoizingFunction<T, R> implements Function<T, R> {
+  static final int SAMPLE_SIZE = 8;
+
+  private final SneakyFunction<T, R, ?> function;
+  private final long maximumSize;
+  private final long expireAfterWriteNanos;
+  private final long failureTtlNanos;
+  private final LongSupplier ticker;
+  private final boolean expiring;
+  private final ConcurrentHashMap<T, Entry<R>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<T, Entry<R>> loading = new ConcurrentHashMap<>();
+  private final FrequencySketch sketch;
+  private final Object evictionLock = new Object();
+  private Iterator<Map.Entry<T, Entry<R>>> hand;
+
+  MemoizingFunction(SneakyFunction<T, R, ?> function, CacheSpec spec) {
+    this.function = function;
+    this.maximumSize = spec.getMaximumSize();
+    this.expireAfterWriteNanos = spec.getExpireAfterWriteNanos();
+    this.failureTtlNanos = spec.getFailureTtlNanos();
+    this.ticker = spec.getTicker();
+    this.expiring = expireAfterWriteNanos > 0 || failureTtlNanos > 0;
+    this.sketch = new FrequencySketch(maximumSize);
+  }
+
+  @Override
+  public R apply(T t) {
+    sketch.increment(t.hashCode());
+    long now = expiring ? ticker.getAsLong() : 0;
+    Entry<R> entry = cached(t, now);
+    if (entry != null) {
+      return entry.await();
+    }
+    Entry<R> started = new Entry<>();
+    entry = loading.putIfAbsent(t, started);
+    if (entry != null) {
+      return entry.await();
+    }
+    entry = cached(t, now);
+    if (entry != null) {
+      started.copy(entry);
+      loading.remove(t, started);
+      return entry.await();
+    }
+    return load(t, started, now);
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /** Returns the cached entry of {@code t}, or null if there is none or it has expired. */
+  private Entry<R> cached(T t, long now) {
+    Entry<R> entry = entries.get(t);
+    if (entry != null && entry.isExpired(now)) {
+      entries.remove(t, entry);
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Calls the function and offers the completed entry to the cache. It is removed from the running
+   * calls only afterwards, so a concurrent caller finds it in one of the two maps.
+   */
+  private R load(T t, Entry<R> entry, long now) {
+    try {
+      R value = function.apply(t);
+      entry.succeed(
+          value, expireAfterWriteNanos == 0 ? Long.MAX_VALUE : expiry(expireAfterWriteNanos));
+      admit(t, entry, now);
+      return value;
+    } catch (Throwable throwable) {
+      if (failureTtlNanos == 0) {
+        entry.fail(throwable, Long.MAX_VALUE);
+      } else {
+        entry.fail(throwable, expiry(failureTtlNanos));
+        admit(t, entry, now);
+      }
+      throw sneakyThrow(throwable);
+    } finally {
+      loading.remove(t, entry);
+    }
+  }
+
+  private void admit(T t, Entry<R> entry, long now) {
+    entries.put(t, entry);
+    if (entries.size() > maximumSize) {
+      evict(t, entry, now);
+    }
+  }
+
+  private long expiry(long ttlNanos) {
+    return ticker.getAsLong() + ttlNanos;
+  }
+
+  private void evict(T candidate, Entry<R> candidateEntry, long now) {
+    int candidateFrequency = sketch.frequency(candidate.hashCode());
+    synchronized (evictionLock) {
+      while (entries.size() > maximumSize) {
+        Map.Entry<T, Entry<R>> victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+          if (hand == null || !hand.hasNext()) {
+            hand = entries.entrySet().iterator();
+            if (!hand.hasNext()) {
+              break;
+            }
+          }
+          Map.Entry<T, Entry<R>> sampled = hand.next();
+          if (sampled.getValue() == candidateEntry) {
+            continue;
+          }
+          if (expiring && sampled.getValue().isExpired(now)) {
+            victim = sampled;
+            victimFrequency = -1;
+            break;
+          }
+          int frequency = sketch.frequency(sampled.getKey().hashCode());
+          if (frequency < victimFrequency) {
+            victim = sampled;
+            victimFrequency = frequency;
+          }
+        }
+        if (victim == null || candidateFrequency <= victimFrequency) {
+          entries.remove(candidate, candidateEntry);
+          return;
+        }
+        entries.remove(victim.getKey(), victim.getValue());
+      }
+    }
+  }
+
+  private static final class Entry<R> {
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final Thread loader = Thread.currentThread();
+    private R value;
+    private Throwable failure;
+    private volatile long expiresAt = Long.MAX_VALUE;
+
+    void succeed(R value, long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+      loaded.countDown();
+    }
+
+    void fail(Throwable failure, long expiresAt) {
+      this.failure = failure;
+      this.expiresAt = expiresAt;
+      loaded.countDown();
+    }
+
+    /** Completes this entry like {@code other}, which is already completed. */
+    void copy(Entry<R> other) {
+      this.value = other.value;
+      this.failure = other.failure;
+      this.expiresAt = other.expiresAt;
+      loaded.countDown();
+    }
+
+    boolean isExpired(long now) {
+      return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+    }
+
+    R await() {
+      if (loaded.getCount() != 0) {
+        if (loader == Thread.currentThread()) {
+          throw new IllegalStateException("Recursive call for the same argument");
+        }
+        boolean interrupted = false;
+        while (true) {
+          try {
+            loaded.await();
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (failure != null) {
+        throw sneakyThrow(failure);
+      }
+      return value;
+    }
+  }
+}
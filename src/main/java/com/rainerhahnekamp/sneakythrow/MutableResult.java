@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A reusable holder for the outcome of code that can throw an exception. It is filled by {@link
+ * Sneaky#attempt(SneakySupplier, MutableResult)} and allows loops that do not allocate a {@link
+ * Result} per iteration:
+ *
+ * <pre>
+ *     MutableResult&lt;Integer&gt; port = new MutableResult&lt;&gt;();
+ *     for (String value : values) {
+ *         if (attempt(this::parsePort, value, port).isSuccess()) {
+ *             open(port.get());
+ *         }
+ *     }
+ * </pre>
+ *
+ * <p>Instances are not thread-safe.
+ *
+ * @param <T> type of the value
+ */
+public final class MutableResult<T> {
+  private T value;
+  private Exception failure;
+
+  /**
+   * Returns true if the last attempt returned a value, which can be null. A MutableResult that was
+   * not filled yet is a success with the value null.
+   *
+   * @return true if {@link #get()} returns the value
+   */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /**
+   * Returns true if the last attempt threw an exception.
+   *
+   * @return true if {@link #get()} throws the exception
+   */
+  public boolean isFailure() {
+    return failure != null;
+  }
+
+  /**
+   * Returns the value or sneaky throws the exception of a failure.
+   *
+   * @return the value
+   */
+  public T get() {
+    if (failure != null) {
+      throw sneakyThrow(failure);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the exception of a failure.
+   *
+   * @return the exception
+   * @throws NoSuchElementException if this is a success
+   */
+  public Exception getFailure() {
+    if (failure == null) {
+      throw new NoSuchElementException("Result is a success");
+    }
+    return failure;
+  }
+
+  /**
+   * Returns the value or {@code other} if this is a failure.
+   *
+   * @param other value to return on failure
+   * @return the value or other
+   */
+  public T orElse(T other) {
+    return failure == null ? value : other;
+  }
+
+  /**
+   * Copies the current state into an immutable {@link Result}.
+   *
+   * @return a Result with the same value or exception
+   */
+  public Result<T> toResult() {
+    return failure == null ? Result.success(value) : Result.failure(failure);
+  }
+
+  MutableResult<T> succeed(T value) {
+    this.value = value;
+    this.failure = null;
+    return this;
+  }
+
+  MutableResult<T> fail(Exception failure) {
+    this.value = null;
+    this.failure = failure;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return failure == null ? "Success[" + value + "]" : "Failure[" + failure + "]";
+  }
+}
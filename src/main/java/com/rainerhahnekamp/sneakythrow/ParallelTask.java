@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntConsumer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a body for every index of a range in the {@link ForkJoinPool} and stops early on failure.
+ *
+ * <p>All subtasks share one failure reference. The first exception is stored there and every
+ * subtask checks it before it splits and before each index, so the remaining work is skipped as
+ * soon as one index failed. Exceptions of indices that were already running at that time are added
+ * to the first one as suppressed exceptions.
+ */
+final class ParallelTask extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+
+  private final SneakyIntConsumer<?> body;
+  private final AtomicReference<Throwable> failure;
+  private final int from;
+  private final int to;
+  private final int threshold;
+
+  private ParallelTask(
+      SneakyIntConsumer<?> body,
+      AtomicReference<Throwable> failure,
+      int from,
+      int to,
+      int threshold) {
+    this.body = body;
+    this.failure = failure;
+    this.from = from;
+    this.to = to;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Runs {@code body} for the indices from 0 to {@code size} and sneaky throws the first exception.
+   */
+  static void run(int size, int threshold, SneakyIntConsumer<?> body) {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("threshold must be positive: " + threshold);
+    }
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    new ParallelTask(body, failure, 0, size, threshold).invoke();
+    Throwable first = failure.get();
+    if (first != null) {
+      throw sneakyThrow(first);
+    }
+  }
+
+  /** Splits into about four leaves per worker of the common pool, like parallel streams do. */
+  static int defaultThreshold(int size) {
+    return Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() << 2));
+  }
+
+  @Override
+  protected void compute() {
+    if (failure.get() != null) {
+      return;
+    }
+    if (to - from > threshold) {
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new ParallelTask(body, failure, from, middle, threshold),
+          new ParallelTask(body, failure, middle, to, threshold));
+      return;
+    }
+    for (int index = from; index < to && failure.get() == null; index++) {
+      try {
+        body.accept(index);
+      } catch (Throwable throwable) {
+        fail(throwable);
+        return;
+      }
+    }
+  }
+
+  private void fail(Throwable throwable) {
+    if (!failure.compareAndSet(null, throwable)) {
+      Throwable first = failure.get();
+      if (first != throwable) {
+        first.addSuppressed(throwable);
+      }
+    }
+  }
+}
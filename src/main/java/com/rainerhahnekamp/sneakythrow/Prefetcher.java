@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Reads the values of a slow supplier ahead in the background. It is created by {@code
+ * Sneaky.prefetching}:
+ *
+ * <pre>
+ *     try (Prefetcher&lt;Page&gt; pages = prefetching(client::nextPage, 4)) {
+ *         while (pages.hasNext()) {
+ *             process(pages.next());
+ *         }
+ *     }
+ * </pre>
+ *
+ * <p>A producer task on the executor fetches up to {@code depth} values into a ring buffer, while
+ * the consumer processes the previous ones. The supplier ends the values by returning an empty
+ * Optional. An exception of the supplier is thrown by {@link #next()} at the position where it
+ * occurred, after the values fetched before it, and ends the values as well.
+ *
+ * <p>The ring has one producer and one consumer, so each of them only writes its own index and the
+ * buffer needs no lock. The producer task ends when the ring is full and is started again when the
+ * consumer takes a value, so a slow consumer does not block a thread of the executor. If the
+ * executor rejects the restart, the rejection takes the freed slot as failure after the values that
+ * were fetched already. A consumer that finds the ring empty parks until the producer publishes the
+ * next value.
+ *
+ * <p>The values can be read as {@link Iterator}, as {@link Supplier} or as {@link #stream()} from
+ * one thread at a time. {@link #close()} stops fetching after the current value.
+ *
+ * @param <T> type of the values
+ */
+public final class Prefetcher<T> implements Iterator<T>, Supplier<T>, AutoCloseable {
+  private static final Object END = new Object();
+
+  private final SneakySupplier<Optional<T>, ?> supplier;
+  private final Executor executor;
+  private final Object[] ring;
+  private final AtomicBoolean running = new AtomicBoolean();
+  private volatile long head;
+  private volatile long tail;
+  private volatile boolean finished;
+  private volatile boolean closed;
+  private volatile Thread waiter;
+
+  Prefetcher(SneakySupplier<Optional<T>, ?> supplier, int depth, Executor executor) {
+    if (depth <= 0) {
+      throw new IllegalArgumentException("depth must be positive: " + depth);
+    }
+    this.supplier = Objects.requireNonNull(supplier, "supplier");
+    this.executor = Objects.requireNonNull(executor, "executor");
+    this.ring = new Object[depth];
+    resume();
+  }
+
+  /**
+   * Returns true if there is a further value or a failure, waiting for the producer if necessary.
+   *
+   * @return true if {@link #next()} returns a value or throws the exception of the supplier
+   */
+  @Override
+  public boolean hasNext() {
+    return peek() != END;
+  }
+
+  /**
+   * Returns the next value, waiting for the producer if necessary. If the supplier threw at this
+   * position, its exception is sneaky thrown.
+   *
+   * @return the next value
+   * @throws NoSuchElementException if there is no further value
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    Object item = peek();
+    int index = (int) (head % ring.length);
+    if (item == END) {
+      throw new NoSuchElementException();
+    }
+    if (item instanceof Failure) {
+      ring[index] = END;
+      throw sneakyThrow(((Failure) item).throwable);
+    }
+    ring[index] = null;
+    head++;
+    if (!running.get() && !finished) {
+      try {
+        resume();
+      } catch (RuntimeException e) {
+        fail(e);
+      }
+    }
+    return (T) item;
+  }
+
+  /**
+   * Returns the next value like {@link #next()}.
+   *
+   * @return the next value
+   * @throws NoSuchElementException if there is no further value
+   */
+  @Override
+  public T get() {
+    return next();
+  }
+
+  /**
+   * Creates a stream over the remaining values. Closing the stream closes this Prefetcher.
+   *
+   * @return a sequential SneakyStream
+   */
+  public SneakyStream<T> stream() {
+    return SneakyStream.of(
+            Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL))
+        .onClose(this::close);
+  }
+
+  /** Stops fetching after the current value. Values that are not read yet are discarded. */
+  @Override
+  public void close() {
+    closed = true;
+    Thread current = waiter;
+    if (current != null) {
+      LockSupport.unpark(current);
+    }
+  }
+
+  private Object peek() {
+    if (closed) {
+      return END;
+    }
+    long current = head;
+    if (current == tail) {
+      await(current);
+      if (current == tail) {
+        return END;
+      }
+    }
+    return ring[(int) (current % ring.length)];
+  }
+
+  /** Parks until the producer publishes the value at {@code position} or the Prefetcher closes. */
+  private void await(long position) {
+    waiter = Thread.currentThread();
+    try {
+      while (tail == position && !closed) {
+        LockSupport.park(this);
+        if (Thread.currentThread().isInterrupted()) {
+          throw sneakyThrow(new InterruptedException());
+        }
+      }
+    } finally {
+      waiter = null;
+    }
+  }
+
+  private void resume() {
+    if (!closed && running.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::produce);
+      } catch (RuntimeException e) {
+        running.set(false);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Publishes the rejection of a restart as the last item. The consumer has just freed a slot and
+   * no producer runs, so there is room for it.
+   */
+  private void fail(RuntimeException rejection) {
+    if (running.compareAndSet(false, true)) {
+      if (!finished) {
+        ring[(int) (tail % ring.length)] = new Failure(rejection);
+        finished = true;
+        tail++;
+      }
+      running.set(false);
+    }
+  }
+
+  /**
+   * Fetches until the ring is full or the values end. Before the task ends, it checks the ring
+   * again, since the consumer does not start a new task while this one is still running.
+   */
+  private void produce() {
+    do {
+      long position = tail;
+      while (!finished && !closed && position - head < ring.length) {
+        Object item = fetch();
+        finished = item == END || item instanceof Failure;
+        ring[(int) (position % ring.length)] = item;
+        tail = ++position;
+        Thread current = waiter;
+        if (current != null) {
+          LockSupport.unpark(current);
+        }
+      }
+      running.set(false);
+    } while (!finished
+        && !closed
+        && tail - head < ring.length
+        && running.compareAndSet(false, true));
+  }
+
+  private Object fetch() {
+    try {
+      Optional<T> value = Objects.requireNonNull(supplier.get(), "supplier returned null");
+      return value.isPresent() ? value.get() : END;
+    } catch (Throwable throwable) {
+      return new Failure(throwable);
+    }
+  }
+
+  private static final class Failure {
+    private final Throwable throwable;
+
+    private Failure(Throwable throwable) {
+      this.throwable = throwable;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.SneakyExecutors.Scheduler;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Supplier that caches the value of a sneaky supplier and refreshes it in the background.
+ *
+ * <p>The first call loads the value and blocks concurrent callers until it is available. When the
+ * refresh interval has passed, a timer marks the value as stale. The next call then starts a
+ * refresh with the executor and still returns the current value, so that readers never wait after
+ * the first load. Reading the clock costs more than the rest of a call, so calls only read the
+ * state set by the timer. A failed refresh keeps the current value and is retried after {@link
+ * #RETRY_NANOS} or the refresh interval, whichever is shorter. Its exception is passed to the
+ * uncaught exception handler of the thread that ran the refresh, since no caller waits for it. If
+ * the executor rejects a refresh, the call returns the current value and the refresh is retried in
+ * the same way.
+ *
+ * @param <T> type of the value
+ */
+final class RefreshingSupplier<T> implements Supplier<T> {
+  static final long RETRY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private static final Object UNSET = new Object();
+  private static final int FRESH = 0;
+  private static final int STALE = 1;
+  private static final int REFRESHING = 2;
+
+  private final SneakySupplier<T, ?> supplier;
+  private final long intervalNanos;
+  private final Executor executor;
+  private final Scheduler scheduler;
+  private final AtomicInteger state = new AtomicInteger(FRESH);
+  private volatile Object value = UNSET;
+
+  RefreshingSupplier(
+      SneakySupplier<T, ?> supplier, long intervalNanos, Executor executor, Scheduler scheduler) {
+    if (intervalNanos <= 0) {
+      throw new IllegalArgumentException("interval must be positive");
+    }
+    this.supplier = supplier;
+    this.intervalNanos = intervalNanos;
+    this.executor = executor;
+    this.scheduler = scheduler;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get() {
+    Object current = value;
+    if (current == UNSET) {
+      current = initialize();
+    } else if (state.get() == STALE && state.compareAndSet(STALE, REFRESHING)) {
+      refresh();
+    }
+    return (T) current;
+  }
+
+  private synchronized Object initialize() {
+    if (value == UNSET) {
+      value = load();
+      scheduleStale(intervalNanos);
+    }
+    return value;
+  }
+
+  private void refresh() {
+    try {
+      executor.execute(this::reload);
+    } catch (RuntimeException e) {
+      state.set(FRESH);
+      scheduleStale(retryNanos());
+    }
+  }
+
+  private void reload() {
+    long delay = retryNanos();
+    try {
+      value = load();
+      delay = intervalNanos;
+    } catch (Exception e) {
+      Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+    } finally {
+      state.set(FRESH);
+      scheduleStale(delay);
+    }
+  }
+
+  private long retryNanos() {
+    return Math.min(intervalNanos, RETRY_NANOS);
+  }
+
+  private void scheduleStale(long delayNanos) {
+    scheduler.schedule(() -> state.compareAndSet(FRESH, STALE), delayNanos);
+  }
+
+  private Object load() {
+    try {
+      return supplier.get();
+    } catch (Exception e) {
+      throw sneakyThrow(e);
+    }
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * The outcome of code that can throw an exception: either a value or the exception.
+ *
+ * <p>Instances are created by {@link Sneaky#attempt(SneakySupplier)} and {@link
+ * Sneaky#attempting(SneakyFunction)}. Returning a failure is much cheaper than propagating the
+ * exception through the stack, which pays off when failures are frequent:
+ *
+ * <pre>
+ *     List&lt;Integer&gt; ports = Stream.of("80", "http", "443")
+ *         .map(attempting(this::parsePort))
+ *         .filter(Result::isSuccess)
+ *         .map(Result::get)
+ *         .collect(Collectors.toList());
+ * </pre>
+ *
+ * <p>This is a value-based class.
+ *
+ * @param <T> type of the value
+ */
+public final class Result<T> {
+  private final T value;
+  private final Exception failure;
+
+  private Result(T value, Exception failure) {
+    this.value = value;
+    this.failure = failure;
+  }
+
+  /**
+   * Creates a successful Result.
+   *
+   * @param value the value, can be null
+   * @param <T> type of the value
+   * @return a successful Result
+   */
+  public static <T> Result<T> success(T value) {
+    return new Result<>(value, null);
+  }
+
+  /**
+   * Creates a failed Result.
+   *
+   * @param failure the exception
+   * @param <T> type of the value
+   * @return a failed Result
+   */
+  public static <T> Result<T> failure(Exception failure) {
+    return new Result<>(null, Objects.requireNonNull(failure, "failure"));
+  }
+
+  /**
+   * Returns true if this Result holds a value, which can be null.
+   *
+   * @return true if {@link #get()} returns the value
+   */
+  public boolean isSuccess() {
+    return failure == null;
+  }
+
+  /**
+   * Returns true if this Result holds an exception.
+   *
+   * @return true if {@link #get()} throws the exception
+   */
+  public boolean isFailure() {
+    return failure != null;
+  }
+
+  /**
+   * Returns the value or sneaky throws the exception of a failure.
+   *
+   * @return the value
+   */
+  public T get() {
+    if (failure != null) {
+      throw sneakyThrow(failure);
+    }
+    return value;
+  }
+
+  /**
+   * Returns the exception of a failure.
+   *
+   * @return the exception
+   * @throws NoSuchElementException if this is a success
+   */
+  public Exception getFailure() {
+    if (failure == null) {
+      throw new NoSuchElementException("Result is a success");
+    }
+    return failure;
+  }
+
+  /**
+   * Returns the value or {@code other} if this is a failure.
+   *
+   * @param other value to return on failure
+   * @return the value or other
+   */
+  public T orElse(T other) {
+    return failure == null ? value : other;
+  }
+
+  /**
+   * Applies a function to the value. An exception thrown by the function results in a failure.
+   *
+   * @param mapper function that can throw an exception
+   * @param <U> type of the new value
+   * @return a Result of the mapped value or this failure
+   */
+  @SuppressWarnings("unchecked")
+  public <U> Result<U> map(SneakyFunction<? super T, ? extends U, ?> mapper) {
+    if (failure != null) {
+      return (Result<U>) this;
+    }
+    try {
+      return success(mapper.apply(value));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * Applies a function that returns a Result to the value.
+   *
+   * @param mapper function that can throw an exception
+   * @param <U> type of the new value
+   * @return the Result of the mapper or this failure
+   */
+  @SuppressWarnings("unchecked")
+  public <U> Result<U> flatMap(SneakyFunction<? super T, Result<U>, ?> mapper) {
+    if (failure != null) {
+      return (Result<U>) this;
+    }
+    try {
+      return Objects.requireNonNull(mapper.apply(value), "mapper returned null");
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * Turns a failure into a success by computing a value from the exception.
+   *
+   * @param recovery function that can throw an exception
+   * @return this success or a Result of the recovery function
+   */
+  public Result<T> recover(SneakyFunction<? super Exception, ? extends T, ?> recovery) {
+    if (failure == null) {
+      return this;
+    }
+    try {
+      return success(recovery.apply(failure));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Result)) {
+      return false;
+    }
+    Result<?> other = (Result<?>) o;
+    return Objects.equals(value, other.value) && Objects.equals(failure, other.failure);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(value, failure);
+  }
+
+  @Override
+  public String toString() {
+    return failure == null ? "Success[" + value + "]" : "Failure[" + failure + "]";
+  }
+}
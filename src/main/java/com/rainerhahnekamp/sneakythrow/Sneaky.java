@@ -28,21 +28,101 @@ import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyBiPredicate;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBooleanSupplier;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoublePredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleSupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleToIntFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleToLongFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyDoubleUnaryOperator;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntSupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntToDoubleFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntToLongFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyIntUnaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongSupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongToDoubleFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongToIntFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyLongUnaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyObjDoubleConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyObjIntConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyObjLongConsumer;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
 import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToDoubleBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToDoubleFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToIntBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToIntFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToLongBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyToLongFunction;
 import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleBiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongBiFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
 /**
@@ -73,15 +153,158 @@ import java.util.function.UnaryOperator;
  * @author Rainer Hahnekamp {@literal <rainer.hahnekamp@gmail.com>}
  */
 public class Sneaky {
+  private static final SpecializedWrapper<SneakyBiConsumer<?, ?, ?>, BiConsumer<?, ?>>
+      BI_CONSUMER_WRAPPER =
+          new SpecializedWrapper<>(
+              SneakyBiConsumer.class, SpecializedWrapper.BiConsumerWrapper.class);
+  private static final SpecializedWrapper<SneakyBiFunction<?, ?, ?, ?>, BiFunction<?, ?, ?>>
+      BI_FUNCTION_WRAPPER =
+          new SpecializedWrapper<>(
+              SneakyBiFunction.class, SpecializedWrapper.BiFunctionWrapper.class);
+  private static final SpecializedWrapper<SneakyBinaryOperator<?, ?>, BinaryOperator<?>>
+      BINARY_OPERATOR_WRAPPER =
+          new SpecializedWrapper<>(
+              SneakyBinaryOperator.class, SpecializedWrapper.BinaryOperatorWrapper.class);
+  private static final SpecializedWrapper<SneakyBiPredicate<?, ?, ?>, BiPredicate<?, ?>>
+      BI_PREDICATE_WRAPPER =
+          new SpecializedWrapper<>(
+              SneakyBiPredicate.class, SpecializedWrapper.BiPredicateWrapper.class);
+  private static final SpecializedWrapper<SneakyConsumer<?, ?>, Consumer<?>> CONSUMER_WRAPPER =
+      new SpecializedWrapper<>(SneakyConsumer.class, SpecializedWrapper.ConsumerWrapper.class);
+  private static final SpecializedWrapper<SneakyFunction<?, ?, ?>, Function<?, ?>>
+      FUNCTION_WRAPPER =
+          new SpecializedWrapper<>(SneakyFunction.class, SpecializedWrapper.FunctionWrapper.class);
+  private static final SpecializedWrapper<SneakyPredicate<?, ?>, Predicate<?>> PREDICATE_WRAPPER =
+      new SpecializedWrapper<>(SneakyPredicate.class, SpecializedWrapper.PredicateWrapper.class);
+  private static final SpecializedWrapper<SneakyRunnable<?>, Runnable> RUNNABLE_WRAPPER =
+      new SpecializedWrapper<>(SneakyRunnable.class, SpecializedWrapper.RunnableWrapper.class);
+  private static final SpecializedWrapper<SneakySupplier<?, ?>, Supplier<?>> SUPPLIER_WRAPPER =
+      new SpecializedWrapper<>(SneakySupplier.class, SpecializedWrapper.SupplierWrapper.class);
+  private static final SpecializedWrapper<SneakyUnaryOperator<?, ?>, UnaryOperator<?>>
+      UNARY_OPERATOR_WRAPPER =
+          new SpecializedWrapper<>(
+              SneakyUnaryOperator.class, SpecializedWrapper.UnaryOperatorWrapper.class);
+
+  /**
+   * throws any exception, including checked ones, without declaring it.
+   *
+   * <p>The return type allows to write {@code throw sneakyThrow(e);}, which tells the compiler that
+   * the statement does not complete normally. The method itself never returns.
+   *
+   * <pre>
+   *     try {
+   *         return new URL(url);
+   *     } catch (MalformedURLException e) {
+   *         throw sneakyThrow(e);
+   *     }
+   * </pre>
+   *
+   * @param throwable exception to throw
+   * @return never returns
+   */
+  public static RuntimeException sneakyThrow(Throwable throwable) {
+    throw Sneaky.<RuntimeException>throwUnchecked(throwable);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> E throwUnchecked(Throwable throwable) throws E {
+    throw (E) throwable;
+  }
+
   /**
    * returns a value from a lambda (Supplier) that can potentially throw an exception.
    *
    * @param supplier Supplier that can throw an exception
    * @param <T> type of supplier's return value
-   * @return a Supplier as defined in java.util.function
+   * @return the value returned by the supplier
    */
   public static <T, E extends Exception> T sneak(SneakySupplier<T, E> supplier) {
-    return sneaked(supplier).get();
+    @SuppressWarnings("unchecked")
+    SneakySupplier<T, RuntimeException> castedSupplier =
+        (SneakySupplier<T, RuntimeException>) supplier;
+    return castedSupplier.get();
+  }
+
+  /**
+   * executes a lambda (Runnable) that can potentially throw an exception.
+   *
+   * @param runnable Runnable that can throw an exception
+   */
+  public static <E extends Exception> void sneak(SneakyRunnable<E> runnable) {
+    @SuppressWarnings("unchecked")
+    SneakyRunnable<RuntimeException> castedRunnable = (SneakyRunnable<RuntimeException>) runnable;
+    castedRunnable.run();
+  }
+
+  /**
+   * applies a lambda (Function) that can potentially throw an exception to an argument.
+   *
+   * @param function Function that can throw an exception
+   * @param t the argument
+   * @param <T> type of the argument
+   * @param <R> return type of function
+   * @return the result of the function
+   */
+  public static <T, R, E extends Exception> R sneak(SneakyFunction<T, R, E> function, T t) {
+    @SuppressWarnings("unchecked")
+    SneakyFunction<T, R, RuntimeException> f1 = (SneakyFunction<T, R, RuntimeException>) function;
+    return f1.apply(t);
+  }
+
+  /**
+   * applies a lambda (BiFunction) that can potentially throw an exception to two arguments.
+   *
+   * @param biFunction BiFunction that can throw an exception
+   * @param t the first argument
+   * @param u the second argument
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @param <R> return type of biFunction
+   * @return the result of the biFunction
+   */
+  public static <T, U, R, E extends Exception> R sneak(
+      SneakyBiFunction<T, U, R, E> biFunction, T t, U u) {
+    @SuppressWarnings("unchecked")
+    SneakyBiFunction<T, U, R, RuntimeException> castedBiFunction =
+        (SneakyBiFunction<T, U, R, RuntimeException>) biFunction;
+    return castedBiFunction.apply(t, u);
+  }
+
+  /**
+   * passes an argument to a lambda (Consumer) that can potentially throw an exception.
+   *
+   * <p>A lambda whose body is a single expression also fits {@link #sneak(SneakyFunction, Object)}.
+   * Use a block body, e.g. {@code sneak(t -> { list.add(t); }, 5)}, to select this overload.
+   *
+   * @param consumer Consumer that can throw an exception
+   * @param t the argument
+   * @param <T> type of the argument
+   */
+  public static <T, E extends Exception> void sneak(SneakyConsumer<T, E> consumer, T t) {
+    @SuppressWarnings("unchecked")
+    SneakyConsumer<T, RuntimeException> casedConsumer =
+        (SneakyConsumer<T, RuntimeException>) consumer;
+    casedConsumer.accept(t);
+  }
+
+  /**
+   * passes two arguments to a lambda (BiConsumer) that can potentially throw an exception.
+   *
+   * <p>A lambda whose body is a single expression also fits {@link #sneak(SneakyBiFunction, Object,
+   * Object)}. Use a block body to select this overload.
+   *
+   * @param biConsumer BiConsumer that can throw an exception
+   * @param t the first argument
+   * @param u the second argument
+   * @param <T> type of first argument
+   * @param <U> type of the second argument
+   */
+  public static <T, U, E extends Exception> void sneak(
+      SneakyBiConsumer<T, U, E> biConsumer, T t, U u) {
+    @SuppressWarnings("unchecked")
+    SneakyBiConsumer<T, U, RuntimeException> castedBiConsumer =
+        (SneakyBiConsumer<T, U, RuntimeException>) biConsumer;
+    castedBiConsumer.accept(t, u);
   }
 
   /**
@@ -95,10 +318,13 @@ public class Sneaky {
   public static <T, U, E extends Exception> BiConsumer<T, U> sneaked(
       SneakyBiConsumer<T, U, E> biConsumer) {
     return (t, u) -> {
-      @SuppressWarnings("unchecked")
-      SneakyBiConsumer<T, U, RuntimeException> castedBiConsumer =
-          (SneakyBiConsumer<T, U, RuntimeException>) biConsumer;
-      castedBiConsumer.accept(t, u);
+      try {
+        biConsumer.accept(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiConsumer");
+      }
     };
   }
 
@@ -114,10 +340,13 @@ public class Sneaky {
   public static <T, U, R, E extends Exception> BiFunction<T, U, R> sneaked(
       SneakyBiFunction<T, U, R, E> biFunction) {
     return (t, u) -> {
-      @SuppressWarnings("unchecked")
-      SneakyBiFunction<T, U, R, RuntimeException> castedBiFunction =
-          (SneakyBiFunction<T, U, R, RuntimeException>) biFunction;
-      return castedBiFunction.apply(t, u);
+      try {
+        return biFunction.apply(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiFunction");
+      }
     };
   }
 
@@ -131,10 +360,13 @@ public class Sneaky {
   public static <T, E extends Exception> BinaryOperator<T> sneaked(
       SneakyBinaryOperator<T, E> binaryOperator) {
     return (t1, t2) -> {
-      @SuppressWarnings("unchecked")
-      SneakyBinaryOperator<T, RuntimeException> castedBinaryOperator =
-          (SneakyBinaryOperator<T, RuntimeException>) binaryOperator;
-      return castedBinaryOperator.apply(t1, t2);
+      try {
+        return binaryOperator.apply(t1, t2);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BinaryOperator");
+      }
     };
   }
 
@@ -149,10 +381,13 @@ public class Sneaky {
   public static <T, U, E extends Exception> BiPredicate<T, U> sneaked(
       SneakyBiPredicate<T, U, E> biPredicate) {
     return (t, u) -> {
-      @SuppressWarnings("unchecked")
-      SneakyBiPredicate<T, U, RuntimeException> castedBiPredicate =
-          (SneakyBiPredicate<T, U, RuntimeException>) biPredicate;
-      return castedBiPredicate.test(t, u);
+      try {
+        return biPredicate.test(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiPredicate");
+      }
     };
   }
 
@@ -165,10 +400,13 @@ public class Sneaky {
    */
   public static <T, E extends Exception> Consumer<T> sneaked(SneakyConsumer<T, E> consumer) {
     return t -> {
-      @SuppressWarnings("unchecked")
-      SneakyConsumer<T, RuntimeException> casedConsumer =
-          (SneakyConsumer<T, RuntimeException>) consumer;
-      casedConsumer.accept(t);
+      try {
+        consumer.accept(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Consumer");
+      }
     };
   }
 
@@ -183,9 +421,13 @@ public class Sneaky {
   public static <T, R, E extends Exception> Function<T, R> sneaked(
       SneakyFunction<T, R, E> function) {
     return t -> {
-      @SuppressWarnings("unchecked")
-      SneakyFunction<T, R, RuntimeException> f1 = (SneakyFunction<T, R, RuntimeException>) function;
-      return f1.apply(t);
+      try {
+        return function.apply(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Function");
+      }
     };
   }
 
@@ -198,10 +440,13 @@ public class Sneaky {
    */
   public static <T, E extends Exception> Predicate<T> sneaked(SneakyPredicate<T, E> predicate) {
     return t -> {
-      @SuppressWarnings("unchecked")
-      SneakyPredicate<T, RuntimeException> castedSneakyPredicate =
-          (SneakyPredicate<T, RuntimeException>) predicate;
-      return castedSneakyPredicate.test(t);
+      try {
+        return predicate.test(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Predicate");
+      }
     };
   }
 
@@ -213,9 +458,13 @@ public class Sneaky {
    */
   public static <E extends Exception> Runnable sneaked(SneakyRunnable<E> runnable) {
     return () -> {
-      @SuppressWarnings("unchecked")
-      SneakyRunnable<RuntimeException> castedRunnable = (SneakyRunnable<RuntimeException>) runnable;
-      castedRunnable.run();
+      try {
+        runnable.run();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Runnable");
+      }
     };
   }
 
@@ -228,10 +477,13 @@ public class Sneaky {
    */
   public static <T, E extends Exception> Supplier<T> sneaked(SneakySupplier<T, E> supplier) {
     return () -> {
-      @SuppressWarnings("unchecked")
-      SneakySupplier<T, RuntimeException> castedSupplier =
-          (SneakySupplier<T, RuntimeException>) supplier;
-      return castedSupplier.get();
+      try {
+        return supplier.get();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Supplier");
+      }
     };
   }
 
@@ -245,10 +497,1753 @@ public class Sneaky {
   public static <T, E extends Exception> UnaryOperator<T> sneaked(
       SneakyUnaryOperator<T, E> unaryOperator) {
     return t -> {
-      @SuppressWarnings("unchecked")
-      SneakyUnaryOperator<T, RuntimeException> castedUnaryOperator =
-          (SneakyUnaryOperator<T, RuntimeException>) unaryOperator;
-      return castedUnaryOperator.apply(t);
+      try {
+        return unaryOperator.apply(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "UnaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a BooleanSupplier lambda.
+   *
+   * @param booleanSupplier BooleanSupplier that can throw an exception
+   * @return a BooleanSupplier as defined in java.util.function
+   */
+  public static <E extends Exception> BooleanSupplier sneakedBooleanSupplier(
+      SneakyBooleanSupplier<E> booleanSupplier) {
+    return () -> {
+      try {
+        return booleanSupplier.getAsBoolean();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BooleanSupplier");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleBinaryOperator lambda.
+   *
+   * @param doubleBinaryOperator DoubleBinaryOperator that can throw an exception
+   * @return a DoubleBinaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleBinaryOperator sneakedDoubleBinaryOperator(
+      SneakyDoubleBinaryOperator<E> doubleBinaryOperator) {
+    return (left, right) -> {
+      try {
+        return doubleBinaryOperator.applyAsDouble(left, right);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleBinaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleConsumer lambda.
+   *
+   * @param doubleConsumer DoubleConsumer that can throw an exception
+   * @return a DoubleConsumer as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleConsumer sneakedDoubleConsumer(
+      SneakyDoubleConsumer<E> doubleConsumer) {
+    return value -> {
+      try {
+        doubleConsumer.accept(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleFunction lambda.
+   *
+   * @param doubleFunction DoubleFunction that can throw an exception
+   * @param <R> type of the result
+   * @return a DoubleFunction as defined in java.util.function
+   */
+  public static <R, E extends Exception> DoubleFunction<R> sneakedDoubleFunction(
+      SneakyDoubleFunction<R, E> doubleFunction) {
+    return value -> {
+      try {
+        return doubleFunction.apply(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoublePredicate lambda.
+   *
+   * @param doublePredicate DoublePredicate that can throw an exception
+   * @return a DoublePredicate as defined in java.util.function
+   */
+  public static <E extends Exception> DoublePredicate sneakedDoublePredicate(
+      SneakyDoublePredicate<E> doublePredicate) {
+    return value -> {
+      try {
+        return doublePredicate.test(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoublePredicate");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleSupplier lambda.
+   *
+   * @param doubleSupplier DoubleSupplier that can throw an exception
+   * @return a DoubleSupplier as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleSupplier sneakedDoubleSupplier(
+      SneakyDoubleSupplier<E> doubleSupplier) {
+    return () -> {
+      try {
+        return doubleSupplier.getAsDouble();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleSupplier");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleToIntFunction lambda.
+   *
+   * @param doubleToIntFunction DoubleToIntFunction that can throw an exception
+   * @return a DoubleToIntFunction as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleToIntFunction sneakedDoubleToIntFunction(
+      SneakyDoubleToIntFunction<E> doubleToIntFunction) {
+    return value -> {
+      try {
+        return doubleToIntFunction.applyAsInt(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleToIntFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleToLongFunction lambda.
+   *
+   * @param doubleToLongFunction DoubleToLongFunction that can throw an exception
+   * @return a DoubleToLongFunction as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleToLongFunction sneakedDoubleToLongFunction(
+      SneakyDoubleToLongFunction<E> doubleToLongFunction) {
+    return value -> {
+      try {
+        return doubleToLongFunction.applyAsLong(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleToLongFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a DoubleUnaryOperator lambda.
+   *
+   * @param doubleUnaryOperator DoubleUnaryOperator that can throw an exception
+   * @return a DoubleUnaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> DoubleUnaryOperator sneakedDoubleUnaryOperator(
+      SneakyDoubleUnaryOperator<E> doubleUnaryOperator) {
+    return operand -> {
+      try {
+        return doubleUnaryOperator.applyAsDouble(operand);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "DoubleUnaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntBinaryOperator lambda.
+   *
+   * @param intBinaryOperator IntBinaryOperator that can throw an exception
+   * @return an IntBinaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> IntBinaryOperator sneakedIntBinaryOperator(
+      SneakyIntBinaryOperator<E> intBinaryOperator) {
+    return (left, right) -> {
+      try {
+        return intBinaryOperator.applyAsInt(left, right);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntBinaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntConsumer lambda.
+   *
+   * @param intConsumer IntConsumer that can throw an exception
+   * @return an IntConsumer as defined in java.util.function
+   */
+  public static <E extends Exception> IntConsumer sneakedIntConsumer(
+      SneakyIntConsumer<E> intConsumer) {
+    return value -> {
+      try {
+        intConsumer.accept(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntFunction lambda.
+   *
+   * @param intFunction IntFunction that can throw an exception
+   * @param <R> type of the result
+   * @return an IntFunction as defined in java.util.function
+   */
+  public static <R, E extends Exception> IntFunction<R> sneakedIntFunction(
+      SneakyIntFunction<R, E> intFunction) {
+    return value -> {
+      try {
+        return intFunction.apply(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntPredicate lambda.
+   *
+   * @param intPredicate IntPredicate that can throw an exception
+   * @return an IntPredicate as defined in java.util.function
+   */
+  public static <E extends Exception> IntPredicate sneakedIntPredicate(
+      SneakyIntPredicate<E> intPredicate) {
+    return value -> {
+      try {
+        return intPredicate.test(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntPredicate");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntSupplier lambda.
+   *
+   * @param intSupplier IntSupplier that can throw an exception
+   * @return an IntSupplier as defined in java.util.function
+   */
+  public static <E extends Exception> IntSupplier sneakedIntSupplier(
+      SneakyIntSupplier<E> intSupplier) {
+    return () -> {
+      try {
+        return intSupplier.getAsInt();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntSupplier");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntToDoubleFunction lambda.
+   *
+   * @param intToDoubleFunction IntToDoubleFunction that can throw an exception
+   * @return an IntToDoubleFunction as defined in java.util.function
+   */
+  public static <E extends Exception> IntToDoubleFunction sneakedIntToDoubleFunction(
+      SneakyIntToDoubleFunction<E> intToDoubleFunction) {
+    return value -> {
+      try {
+        return intToDoubleFunction.applyAsDouble(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntToDoubleFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntToLongFunction lambda.
+   *
+   * @param intToLongFunction IntToLongFunction that can throw an exception
+   * @return an IntToLongFunction as defined in java.util.function
+   */
+  public static <E extends Exception> IntToLongFunction sneakedIntToLongFunction(
+      SneakyIntToLongFunction<E> intToLongFunction) {
+    return value -> {
+      try {
+        return intToLongFunction.applyAsLong(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntToLongFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an IntUnaryOperator lambda.
+   *
+   * @param intUnaryOperator IntUnaryOperator that can throw an exception
+   * @return an IntUnaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> IntUnaryOperator sneakedIntUnaryOperator(
+      SneakyIntUnaryOperator<E> intUnaryOperator) {
+    return operand -> {
+      try {
+        return intUnaryOperator.applyAsInt(operand);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "IntUnaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongBinaryOperator lambda.
+   *
+   * @param longBinaryOperator LongBinaryOperator that can throw an exception
+   * @return a LongBinaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> LongBinaryOperator sneakedLongBinaryOperator(
+      SneakyLongBinaryOperator<E> longBinaryOperator) {
+    return (left, right) -> {
+      try {
+        return longBinaryOperator.applyAsLong(left, right);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongBinaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongConsumer lambda.
+   *
+   * @param longConsumer LongConsumer that can throw an exception
+   * @return a LongConsumer as defined in java.util.function
+   */
+  public static <E extends Exception> LongConsumer sneakedLongConsumer(
+      SneakyLongConsumer<E> longConsumer) {
+    return value -> {
+      try {
+        longConsumer.accept(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongFunction lambda.
+   *
+   * @param longFunction LongFunction that can throw an exception
+   * @param <R> type of the result
+   * @return a LongFunction as defined in java.util.function
+   */
+  public static <R, E extends Exception> LongFunction<R> sneakedLongFunction(
+      SneakyLongFunction<R, E> longFunction) {
+    return value -> {
+      try {
+        return longFunction.apply(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongPredicate lambda.
+   *
+   * @param longPredicate LongPredicate that can throw an exception
+   * @return a LongPredicate as defined in java.util.function
+   */
+  public static <E extends Exception> LongPredicate sneakedLongPredicate(
+      SneakyLongPredicate<E> longPredicate) {
+    return value -> {
+      try {
+        return longPredicate.test(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongPredicate");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongSupplier lambda.
+   *
+   * @param longSupplier LongSupplier that can throw an exception
+   * @return a LongSupplier as defined in java.util.function
+   */
+  public static <E extends Exception> LongSupplier sneakedLongSupplier(
+      SneakyLongSupplier<E> longSupplier) {
+    return () -> {
+      try {
+        return longSupplier.getAsLong();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongSupplier");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongToDoubleFunction lambda.
+   *
+   * @param longToDoubleFunction LongToDoubleFunction that can throw an exception
+   * @return a LongToDoubleFunction as defined in java.util.function
+   */
+  public static <E extends Exception> LongToDoubleFunction sneakedLongToDoubleFunction(
+      SneakyLongToDoubleFunction<E> longToDoubleFunction) {
+    return value -> {
+      try {
+        return longToDoubleFunction.applyAsDouble(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongToDoubleFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongToIntFunction lambda.
+   *
+   * @param longToIntFunction LongToIntFunction that can throw an exception
+   * @return a LongToIntFunction as defined in java.util.function
+   */
+  public static <E extends Exception> LongToIntFunction sneakedLongToIntFunction(
+      SneakyLongToIntFunction<E> longToIntFunction) {
+    return value -> {
+      try {
+        return longToIntFunction.applyAsInt(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongToIntFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a LongUnaryOperator lambda.
+   *
+   * @param longUnaryOperator LongUnaryOperator that can throw an exception
+   * @return a LongUnaryOperator as defined in java.util.function
+   */
+  public static <E extends Exception> LongUnaryOperator sneakedLongUnaryOperator(
+      SneakyLongUnaryOperator<E> longUnaryOperator) {
+    return operand -> {
+      try {
+        return longUnaryOperator.applyAsLong(operand);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "LongUnaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an ObjDoubleConsumer lambda.
+   *
+   * @param objDoubleConsumer ObjDoubleConsumer that can throw an exception
+   * @param <T> type of the object argument
+   * @return an ObjDoubleConsumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> ObjDoubleConsumer<T> sneakedObjDoubleConsumer(
+      SneakyObjDoubleConsumer<T, E> objDoubleConsumer) {
+    return (t, value) -> {
+      try {
+        objDoubleConsumer.accept(t, value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ObjDoubleConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an ObjIntConsumer lambda.
+   *
+   * @param objIntConsumer ObjIntConsumer that can throw an exception
+   * @param <T> type of the object argument
+   * @return an ObjIntConsumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> ObjIntConsumer<T> sneakedObjIntConsumer(
+      SneakyObjIntConsumer<T, E> objIntConsumer) {
+    return (t, value) -> {
+      try {
+        objIntConsumer.accept(t, value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ObjIntConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws an ObjLongConsumer lambda.
+   *
+   * @param objLongConsumer ObjLongConsumer that can throw an exception
+   * @param <T> type of the object argument
+   * @return an ObjLongConsumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> ObjLongConsumer<T> sneakedObjLongConsumer(
+      SneakyObjLongConsumer<T, E> objLongConsumer) {
+    return (t, value) -> {
+      try {
+        objLongConsumer.accept(t, value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ObjLongConsumer");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToDoubleBiFunction lambda.
+   *
+   * @param toDoubleBiFunction ToDoubleBiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a ToDoubleBiFunction as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> ToDoubleBiFunction<T, U> sneakedToDoubleBiFunction(
+      SneakyToDoubleBiFunction<T, U, E> toDoubleBiFunction) {
+    return (t, u) -> {
+      try {
+        return toDoubleBiFunction.applyAsDouble(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToDoubleBiFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToDoubleFunction lambda.
+   *
+   * @param toDoubleFunction ToDoubleFunction that can throw an exception
+   * @param <T> type of the argument
+   * @return a ToDoubleFunction as defined in java.util.function
+   */
+  public static <T, E extends Exception> ToDoubleFunction<T> sneakedToDoubleFunction(
+      SneakyToDoubleFunction<T, E> toDoubleFunction) {
+    return value -> {
+      try {
+        return toDoubleFunction.applyAsDouble(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToDoubleFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToIntBiFunction lambda.
+   *
+   * @param toIntBiFunction ToIntBiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a ToIntBiFunction as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> ToIntBiFunction<T, U> sneakedToIntBiFunction(
+      SneakyToIntBiFunction<T, U, E> toIntBiFunction) {
+    return (t, u) -> {
+      try {
+        return toIntBiFunction.applyAsInt(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToIntBiFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToIntFunction lambda.
+   *
+   * @param toIntFunction ToIntFunction that can throw an exception
+   * @param <T> type of the argument
+   * @return a ToIntFunction as defined in java.util.function
+   */
+  public static <T, E extends Exception> ToIntFunction<T> sneakedToIntFunction(
+      SneakyToIntFunction<T, E> toIntFunction) {
+    return value -> {
+      try {
+        return toIntFunction.applyAsInt(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToIntFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToLongBiFunction lambda.
+   *
+   * @param toLongBiFunction ToLongBiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a ToLongBiFunction as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> ToLongBiFunction<T, U> sneakedToLongBiFunction(
+      SneakyToLongBiFunction<T, U, E> toLongBiFunction) {
+    return (t, u) -> {
+      try {
+        return toLongBiFunction.applyAsLong(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToLongBiFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a ToLongFunction lambda.
+   *
+   * @param toLongFunction ToLongFunction that can throw an exception
+   * @param <T> type of the argument
+   * @return a ToLongFunction as defined in java.util.function
+   */
+  public static <T, E extends Exception> ToLongFunction<T> sneakedToLongFunction(
+      SneakyToLongFunction<T, E> toLongFunction) {
+    return value -> {
+      try {
+        return toLongFunction.applyAsLong(value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "ToLongFunction");
+      }
+    };
+  }
+
+  /**
+   * Sneaky throws a BiConsumer lambda like {@link #sneaked(SneakyBiConsumer)}, but with a wrapper
+   * class per class of the lambda.
+   *
+   * @param biConsumer BiConsumer that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of the second argument
+   * @return a BiConsumer as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, U, E extends Exception> BiConsumer<T, U> specialized(
+      SneakyBiConsumer<T, U, E> biConsumer) {
+    return (BiConsumer<T, U>) BI_CONSUMER_WRAPPER.wrap(biConsumer);
+  }
+
+  /**
+   * Sneaky throws a BiFunction lambda like {@link #sneaked(SneakyBiFunction)}, but with a wrapper
+   * class per class of the lambda.
+   *
+   * @param biFunction BiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @param <R> return type of biFunction
+   * @return a BiFunction as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, U, R, E extends Exception> BiFunction<T, U, R> specialized(
+      SneakyBiFunction<T, U, R, E> biFunction) {
+    return (BiFunction<T, U, R>) BI_FUNCTION_WRAPPER.wrap(biFunction);
+  }
+
+  /**
+   * Sneaky throws a BinaryOperator lambda like {@link #sneaked(SneakyBinaryOperator)}, but with a
+   * wrapper class per class of the lambda.
+   *
+   * @param binaryOperator BinaryOperator that can throw an exception
+   * @param <T> type of the two arguments and the return type of the binaryOperator
+   * @return a BinaryOperator as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> BinaryOperator<T> specialized(
+      SneakyBinaryOperator<T, E> binaryOperator) {
+    return (BinaryOperator<T>) BINARY_OPERATOR_WRAPPER.wrap(binaryOperator);
+  }
+
+  /**
+   * Sneaky throws a BiPredicate lambda like {@link #sneaked(SneakyBiPredicate)}, but with a wrapper
+   * class per class of the lambda.
+   *
+   * @param biPredicate BiPredicate that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a BiPredicate as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, U, E extends Exception> BiPredicate<T, U> specialized(
+      SneakyBiPredicate<T, U, E> biPredicate) {
+    return (BiPredicate<T, U>) BI_PREDICATE_WRAPPER.wrap(biPredicate);
+  }
+
+  /**
+   * Sneaky throws a Consumer lambda like {@link #sneaked(SneakyConsumer)}, but with a wrapper class
+   * per class of the lambda.
+   *
+   * @param consumer Consumer that can throw an exception
+   * @param <T> type of first argument
+   * @return a Consumer as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> Consumer<T> specialized(SneakyConsumer<T, E> consumer) {
+    return (Consumer<T>) CONSUMER_WRAPPER.wrap(consumer);
+  }
+
+  /**
+   * Sneaky throws a Function lambda like {@link #sneaked(SneakyFunction)}, but with a wrapper class
+   * per class of the lambda.
+   *
+   * @param function Function that can throw an exception
+   * @param <T> type of first argument
+   * @param <R> type of the second argument
+   * @return a Function as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R, E extends Exception> Function<T, R> specialized(
+      SneakyFunction<T, R, E> function) {
+    return (Function<T, R>) FUNCTION_WRAPPER.wrap(function);
+  }
+
+  /**
+   * Sneaky throws a Predicate lambda like {@link #sneaked(SneakyPredicate)}, but with a wrapper
+   * class per class of the lambda.
+   *
+   * @param predicate Predicate that can throw an exception
+   * @param <T> type of first argument
+   * @return a Predicate as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> Predicate<T> specialized(SneakyPredicate<T, E> predicate) {
+    return (Predicate<T>) PREDICATE_WRAPPER.wrap(predicate);
+  }
+
+  /**
+   * Sneaky throws a Runnable lambda like {@link #sneaked(SneakyRunnable)}, but with a wrapper class
+   * per class of the lambda.
+   *
+   * @param runnable Runnable that can throw an exception
+   * @return a Runnable as defined in java.util.function
+   */
+  public static <E extends Exception> Runnable specialized(SneakyRunnable<E> runnable) {
+    return RUNNABLE_WRAPPER.wrap(runnable);
+  }
+
+  /**
+   * Sneaky throws a Supplier lambda like {@link #sneaked(SneakySupplier)}, but with a wrapper class
+   * per class of the lambda.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> Supplier<T> specialized(SneakySupplier<T, E> supplier) {
+    return (Supplier<T>) SUPPLIER_WRAPPER.wrap(supplier);
+  }
+
+  /**
+   * Sneaky throws a UnaryOperator lambda like {@link #sneaked(SneakyUnaryOperator)}, but with a
+   * wrapper class per class of the lambda.
+   *
+   * @param unaryOperator UnaryOperator that can throw an exception
+   * @param <T> type of unaryOperator's argument and returned value
+   * @return a UnaryOperator as defined in java.util.function
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> UnaryOperator<T> specialized(
+      SneakyUnaryOperator<T, E> unaryOperator) {
+    return (UnaryOperator<T>) UNARY_OPERATOR_WRAPPER.wrap(unaryOperator);
+  }
+
+  /**
+   * executes a lambda (Supplier) and returns its value or the exception it threw as {@link Result}.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a successful or a failed Result
+   */
+  public static <T, E extends Exception> Result<T> attempt(SneakySupplier<T, E> supplier) {
+    try {
+      return Result.success(supplier.get());
+    } catch (Exception e) {
+      return Result.failure(e);
+    }
+  }
+
+  /**
+   * applies a lambda (Function) to an argument and returns its value or the exception it threw as
+   * {@link Result}.
+   *
+   * @param function Function that can throw an exception
+   * @param t the argument
+   * @param <T> type of the argument
+   * @param <R> return type of function
+   * @return a successful or a failed Result
+   */
+  public static <T, R, E extends Exception> Result<R> attempt(
+      SneakyFunction<T, R, E> function, T t) {
+    try {
+      return Result.success(function.apply(t));
+    } catch (Exception e) {
+      return Result.failure(e);
+    }
+  }
+
+  /**
+   * executes a lambda (Supplier) and stores its value or the exception it threw in a reusable
+   * holder. Unlike {@link #attempt(SneakySupplier)} it does not allocate a Result.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param holder the holder to fill
+   * @param <T> type of supplier's return value
+   * @return the holder
+   */
+  public static <T, E extends Exception> MutableResult<T> attempt(
+      SneakySupplier<? extends T, E> supplier, MutableResult<T> holder) {
+    try {
+      return holder.succeed(supplier.get());
+    } catch (Exception e) {
+      return holder.fail(e);
+    }
+  }
+
+  /**
+   * applies a lambda (Function) to an argument and stores its value or the exception it threw in a
+   * reusable holder. Unlike {@link #attempt(SneakyFunction, Object)} it does not allocate a Result.
+   *
+   * @param function Function that can throw an exception
+   * @param t the argument
+   * @param holder the holder to fill
+   * @param <T> type of the argument
+   * @param <R> return type of function
+   * @return the holder
+   */
+  public static <T, R, E extends Exception> MutableResult<R> attempt(
+      SneakyFunction<T, ? extends R, E> function, T t, MutableResult<R> holder) {
+    try {
+      return holder.succeed(function.apply(t));
+    } catch (Exception e) {
+      return holder.fail(e);
+    }
+  }
+
+  /**
+   * executes a lambda (IntSupplier) and returns its value or the exception it threw as {@link
+   * IntResult}.
+   *
+   * @param supplier IntSupplier that can throw an exception
+   * @return a successful or a failed IntResult
+   */
+  public static <E extends Exception> IntResult attemptInt(SneakyIntSupplier<E> supplier) {
+    try {
+      return IntResult.success(supplier.getAsInt());
+    } catch (Exception e) {
+      return IntResult.failure(e);
+    }
+  }
+
+  /**
+   * executes a lambda (LongSupplier) and returns its value or the exception it threw as {@link
+   * LongResult}.
+   *
+   * @param supplier LongSupplier that can throw an exception
+   * @return a successful or a failed LongResult
+   */
+  public static <E extends Exception> LongResult attemptLong(SneakyLongSupplier<E> supplier) {
+    try {
+      return LongResult.success(supplier.getAsLong());
+    } catch (Exception e) {
+      return LongResult.failure(e);
+    }
+  }
+
+  /**
+   * executes a lambda (DoubleSupplier) and returns its value or the exception it threw as {@link
+   * DoubleResult}.
+   *
+   * @param supplier DoubleSupplier that can throw an exception
+   * @return a successful or a failed DoubleResult
+   */
+  public static <E extends Exception> DoubleResult attemptDouble(SneakyDoubleSupplier<E> supplier) {
+    try {
+      return DoubleResult.success(supplier.getAsDouble());
+    } catch (Exception e) {
+      return DoubleResult.failure(e);
+    }
+  }
+
+  /**
+   * Wraps a Function lambda, so that it returns its value or the exception it threw as {@link
+   * Result}.
+   *
+   * @param function Function that can throw an exception
+   * @param <T> type of first argument
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, Result<R>> attempting(
+      SneakyFunction<T, R, E> function) {
+    return t -> attempt(function, t);
+  }
+
+  /**
+   * applies a lambda (Function) to all elements of a list in parallel and returns the results in
+   * the same order. Uses the {@link java.util.concurrent.ForkJoinPool}.
+   *
+   * <p>When the function throws, no further elements are processed and the first exception is
+   * rethrown unchanged. Exceptions of elements that were processed at the same time are added to it
+   * as suppressed exceptions.
+   *
+   * @param list the elements
+   * @param function Function that can throw an exception
+   * @param <T> type of the elements
+   * @param <R> return type of function
+   * @return an unmodifiable list of the results
+   */
+  public static <T, R, E extends Exception> List<R> parallelMap(
+      List<T> list, SneakyFunction<T, R, E> function) {
+    return parallelMap(list, function, ParallelTask.defaultThreshold(list.size()));
+  }
+
+  /**
+   * applies a lambda (Function) to all elements of a list in parallel, like {@link
+   * #parallelMap(List, SneakyFunction)}, but splits the work only down to {@code threshold}
+   * elements per task.
+   *
+   * @param list the elements
+   * @param function Function that can throw an exception
+   * @param threshold maximal number of elements processed by a task without splitting it
+   * @param <T> type of the elements
+   * @param <R> return type of function
+   * @return an unmodifiable list of the results
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, R, E extends Exception> List<R> parallelMap(
+      List<T> list, SneakyFunction<T, R, E> function, int threshold) {
+    Object[] elements = list.toArray();
+    Object[] results = new Object[elements.length];
+    ParallelTask.run(
+        elements.length, threshold, index -> results[index] = function.apply((T) elements[index]));
+    return (List<R>) Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  /**
+   * executes a lambda (Consumer) for all elements of a collection in parallel. Uses the {@link
+   * java.util.concurrent.ForkJoinPool}.
+   *
+   * <p>When the consumer throws, no further elements are processed and the first exception is
+   * rethrown unchanged. Exceptions of elements that were processed at the same time are added to it
+   * as suppressed exceptions.
+   *
+   * @param collection the elements
+   * @param consumer Consumer that can throw an exception
+   * @param <T> type of the elements
+   */
+  public static <T, E extends Exception> void parallelForEach(
+      Collection<T> collection, SneakyConsumer<T, E> consumer) {
+    parallelForEach(collection, consumer, ParallelTask.defaultThreshold(collection.size()));
+  }
+
+  /**
+   * executes a lambda (Consumer) for all elements of a collection in parallel, like {@link
+   * #parallelForEach(Collection, SneakyConsumer)}, but splits the work only down to {@code
+   * threshold} elements per task.
+   *
+   * @param collection the elements
+   * @param consumer Consumer that can throw an exception
+   * @param threshold maximal number of elements processed by a task without splitting it
+   * @param <T> type of the elements
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, E extends Exception> void parallelForEach(
+      Collection<T> collection, SneakyConsumer<T, E> consumer, int threshold) {
+    Object[] elements = collection.toArray();
+    ParallelTask.run(elements.length, threshold, index -> consumer.accept((T) elements[index]));
+  }
+
+  /**
+   * executes lambdas (Supplier) concurrently in a {@link SneakyScope} and returns their values in
+   * the same order. If one of them fails, the others are cancelled and its exception is rethrown.
+   *
+   * @param suppliers Suppliers that can throw an exception
+   * @param <T> type of suppliers' return value
+   * @return a list of the values
+   */
+  public static <T, E extends Exception> List<T> invokeAll(List<SneakySupplier<T, E>> suppliers) {
+    try (SneakyScope scope = new SneakyScope()) {
+      List<Supplier<T>> forked = new ArrayList<>(suppliers.size());
+      for (SneakySupplier<T, E> supplier : suppliers) {
+        forked.add(scope.fork(supplier));
+      }
+      scope.join();
+      List<T> values = new ArrayList<>(forked.size());
+      for (Supplier<T> value : forked) {
+        values.add(value.get());
+      }
+      return values;
+    }
+  }
+
+  /**
+   * executes a lambda (Supplier) asynchronously in the {@link ForkJoinPool#commonPool()}.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a SneakyFuture of the supplier's value
+   */
+  public static <T, E extends Exception> SneakyFuture<T> async(SneakySupplier<T, E> supplier) {
+    return SneakyFuture.supply(supplier, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * executes a lambda (Supplier) asynchronously with {@code executor}.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param executor executes the supplier
+   * @param <T> type of supplier's return value
+   * @return a SneakyFuture of the supplier's value
+   */
+  public static <T, E extends Exception> SneakyFuture<T> async(
+      SneakySupplier<T, E> supplier, Executor executor) {
+    return SneakyFuture.supply(supplier, executor);
+  }
+
+  /**
+   * Wraps a Function lambda and caches its values per argument, as configured by {@code spec}.
+   * Concurrent calls with the same argument call the function only once. Failures are rethrown and,
+   * unless {@link CacheSpec#cacheFailuresFor} is set, not cached.
+   *
+   * @param function Function that can throw an exception
+   * @param spec configuration of the cache
+   * @param <T> type of first argument, must not be null
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> memoized(
+      SneakyFunction<T, R, E> function, CacheSpec spec) {
+    return new MemoizingFunction<>(function, spec);
+  }
+
+  /**
+   * Wraps a Supplier lambda, so that it is called only once and its value is returned afterwards.
+   * If the supplier throws, the exception is rethrown and the next call tries again.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> lazy(SneakySupplier<T, E> supplier) {
+    return new LazySupplier<>(supplier);
+  }
+
+  /**
+   * Wraps a Supplier lambda, so that its value is cached and refreshed in the background once
+   * {@code interval} has passed. Only the first call waits for the supplier. Refreshes run on
+   * virtual threads, if available. A failed refresh keeps the current value and passes its
+   * exception to the uncaught exception handler of the refreshing thread.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param interval time after which the value is refreshed
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> refreshing(
+      SneakySupplier<T, E> supplier, Duration interval) {
+    return refreshing(supplier, interval, SneakyExecutors.tasks());
+  }
+
+  /**
+   * Wraps a Supplier lambda, like {@link #refreshing(SneakySupplier, Duration)}, but runs the
+   * refreshes with {@code executor}.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param interval time after which the value is refreshed
+   * @param executor executes the refreshes
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> refreshing(
+      SneakySupplier<T, E> supplier, Duration interval, Executor executor) {
+    return new RefreshingSupplier<>(
+        supplier, interval.toNanos(), executor, SneakyExecutors.scheduler());
+  }
+
+  /**
+   * Wraps a Function lambda that loads many keys at once into a Function for single keys.
+   * Concurrent calls are collected into batches as configured by {@code spec}, and each batch is
+   * loaded with one call of {@code bulk}. If bulk throws, every caller of the batch receives the
+   * exception.
+   *
+   * @param bulk Function that can throw an exception and loads the values of a set of keys
+   * @param spec configuration of the batches
+   * @param <K> type of the keys
+   * @param <V> type of the values
+   * @return a Function that returns the value of a key or null if bulk returned none
+   */
+  public static <K, V, E extends Exception> Function<K, V> batching(
+      SneakyFunction<Set<K>, Map<K, V>, E> bulk, BatchSpec spec) {
+    return new BatchingFunction<>(bulk, spec, SneakyExecutors.scheduler());
+  }
+
+  /**
+   * Wraps a Function lambda that loads many keys at once, like {@link #batching(SneakyFunction,
+   * BatchSpec)}, but returns a function that does not wait for the values.
+   *
+   * @param bulk Function that can throw an exception and loads the values of a set of keys
+   * @param spec configuration of the batches
+   * @param <K> type of the keys
+   * @param <V> type of the values
+   * @return a Function that returns a SneakyFuture of the value of a key
+   */
+  public static <K, V, E extends Exception> Function<K, SneakyFuture<V>> batchingAsync(
+      SneakyFunction<Set<K>, Map<K, V>, E> bulk, BatchSpec spec) {
+    return new BatchingFunction<>(bulk, spec, SneakyExecutors.scheduler())::applyAsync;
+  }
+
+  /**
+   * Wraps a Consumer lambda that takes a list of elements into a {@link BatchingConsumer} that
+   * takes single elements and passes them on in batches of up to {@code maxBatch} elements.
+   *
+   * @param consumer Consumer that can throw an exception and takes a batch of elements
+   * @param maxBatch maximal number of elements per batch
+   * @param maxDelay maximal time an element waits for its batch to be passed on
+   * @param <T> type of the elements
+   * @return a BatchingConsumer, which must be closed
+   */
+  public static <T, E extends Exception> BatchingConsumer<T> batchingConsumer(
+      SneakyConsumer<List<T>, E> consumer, int maxBatch, Duration maxDelay) {
+    return new BatchingConsumer<>(
+        consumer,
+        maxBatch,
+        maxDelay.toNanos(),
+        SneakyExecutors.tasks(),
+        SneakyExecutors.scheduler());
+  }
+
+  /**
+   * returns a value from a lambda (Supplier) that can potentially throw an exception, but
+   * interrupts it if it takes longer than {@code timeout} and then throws a {@link
+   * java.util.concurrent.TimeoutException}. The interrupt closes a {@link
+   * java.nio.channels.InterruptibleChannel} that the supplier uses.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param timeout maximal time the supplier may take
+   * @param <T> type of supplier's return value
+   * @return the value returned by the supplier
+   */
+  public static <T, E extends Exception> T withTimeout(
+      SneakySupplier<T, E> supplier, Duration timeout) {
+    return TimedCall.apply(ignored -> supplier.get(), null, timeout.toNanos());
+  }
+
+  /**
+   * Wraps a Supplier lambda, so that each call is interrupted if it takes longer than {@code
+   * timeout} and then throws a {@link java.util.concurrent.TimeoutException}.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param timeout maximal time a call may take
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> timed(
+      SneakySupplier<T, E> supplier, Duration timeout) {
+    long timeoutNanos = timeout.toNanos();
+    return () -> TimedCall.apply(ignored -> supplier.get(), null, timeoutNanos);
+  }
+
+  /**
+   * Wraps a Function lambda, so that each call is interrupted if it takes longer than {@code
+   * timeout} and then throws a {@link java.util.concurrent.TimeoutException}.
+   *
+   * @param function Function that can throw an exception
+   * @param timeout maximal time a call may take
+   * @param <T> type of first argument
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> timed(
+      SneakyFunction<T, R, E> function, Duration timeout) {
+    long timeoutNanos = timeout.toNanos();
+    return t -> TimedCall.apply(function, t, timeoutNanos);
+  }
+
+  /**
+   * Wraps a Supplier lambda that is idempotent, so that a call starts another attempt when the
+   * running one takes longer than the percentile of the {@code policy}. The first successful
+   * attempt is returned and the others are interrupted. An exception is only thrown if all attempts
+   * fail.
+   *
+   * @param supplier idempotent Supplier that can throw an exception
+   * @param policy defines when further attempts start
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> hedged(
+      SneakySupplier<T, E> supplier, HedgePolicy policy) {
+    return new HedgedSupplier<>(supplier, policy);
+  }
+
+  /**
+   * Wraps a Function lambda, so that the number of concurrent calls is limited. The limit adapts to
+   * the latency of the calls as defined by {@code policy}. Calls above the limit throw a {@link
+   * LimitExceededException}, unless the policy lets them wait for a free slot.
+   *
+   * @param function Function that can throw an exception
+   * @param policy defines the limit
+   * @param <T> type of first argument
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> limited(
+      SneakyFunction<T, R, E> function, LimitPolicy policy) {
+    return new LimitedFunction<>(function, policy, System::nanoTime);
+  }
+
+  /**
+   * Wraps a Function lambda, so that it is not called while {@code breaker} is open. Calls throw a
+   * {@link CircuitOpenException} instead.
+   *
+   * @param function Function that can throw an exception
+   * @param breaker counts the outcomes of the calls, can be shared
+   * @param <T> type of first argument
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> breaker(
+      SneakyFunction<T, R, E> function, CircuitBreaker breaker) {
+    return t -> breaker.apply(function, t);
+  }
+
+  /**
+   * Wraps a Supplier lambda, so that it is not called while {@code breaker} is open. Calls throw a
+   * {@link CircuitOpenException} instead.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param breaker counts the outcomes of the calls, can be shared
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> breaker(
+      SneakySupplier<T, E> supplier, CircuitBreaker breaker) {
+    SneakyFunction<Object, T, E> function = ignored -> supplier.get();
+    return () -> breaker.apply(function, null);
+  }
+
+  /**
+   * Wraps a Consumer lambda, so that it is not called while {@code breaker} is open. Calls throw a
+   * {@link CircuitOpenException} instead.
+   *
+   * @param consumer Consumer that can throw an exception
+   * @param breaker counts the outcomes of the calls, can be shared
+   * @param <T> type of first argument
+   * @return a Consumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> Consumer<T> breaker(
+      SneakyConsumer<T, E> consumer, CircuitBreaker breaker) {
+    SneakyFunction<T, Object, E> function =
+        t -> {
+          consumer.accept(t);
+          return null;
+        };
+    return t -> breaker.apply(function, t);
+  }
+
+  /**
+   * Wraps a Runnable lambda, so that it is not called while {@code breaker} is open. Calls throw a
+   * {@link CircuitOpenException} instead.
+   *
+   * @param runnable Runnable that can throw an exception
+   * @param breaker counts the outcomes of the calls, can be shared
+   * @return a Runnable as defined in java.util.function
+   */
+  public static <E extends Exception> Runnable breaker(
+      SneakyRunnable<E> runnable, CircuitBreaker breaker) {
+    SneakyFunction<Object, Object, E> function =
+        ignored -> {
+          runnable.run();
+          return null;
+        };
+    return () -> breaker.apply(function, null);
+  }
+
+  /**
+   * Wraps a BiConsumer lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param biConsumer BiConsumer that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of the second argument
+   * @return a BiConsumer as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> BiConsumer<T, U> instrumented(
+      String name, SneakyBiConsumer<T, U, E> biConsumer) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return (t, u) -> metrics.accept(biConsumer, t, u);
+  }
+
+  /**
+   * Wraps a BiFunction lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param biFunction BiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @param <R> return type of biFunction
+   * @return a BiFunction as defined in java.util.function
+   */
+  public static <T, U, R, E extends Exception> BiFunction<T, U, R> instrumented(
+      String name, SneakyBiFunction<T, U, R, E> biFunction) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return (t, u) -> metrics.apply(biFunction, t, u);
+  }
+
+  /**
+   * Wraps a BinaryOperator lambda and records its calls, failures and latencies under {@code name}
+   * in {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param binaryOperator BinaryOperator that can throw an exception
+   * @param <T> type of the two arguments and the return type of the binaryOperator
+   * @return a BinaryOperator as defined in java.util.function
+   */
+  public static <T, E extends Exception> BinaryOperator<T> instrumented(
+      String name, SneakyBinaryOperator<T, E> binaryOperator) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return (t1, t2) -> metrics.apply(binaryOperator, t1, t2);
+  }
+
+  /**
+   * Wraps a BiPredicate lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param biPredicate BiPredicate that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a BiPredicate as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> BiPredicate<T, U> instrumented(
+      String name, SneakyBiPredicate<T, U, E> biPredicate) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return (t, u) -> metrics.test(biPredicate, t, u);
+  }
+
+  /**
+   * Wraps a Consumer lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param consumer Consumer that can throw an exception
+   * @param <T> type of first argument
+   * @return a Consumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> Consumer<T> instrumented(
+      String name, SneakyConsumer<T, E> consumer) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return t -> metrics.accept(consumer, t);
+  }
+
+  /**
+   * Wraps a Function lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param function Function that can throw an exception
+   * @param <T> type of first argument
+   * @param <R> return type of function
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> instrumented(
+      String name, SneakyFunction<T, R, E> function) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return t -> metrics.apply(function, t);
+  }
+
+  /**
+   * Wraps a Predicate lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param predicate Predicate that can throw an exception
+   * @param <T> type of first argument
+   * @return a Predicate as defined in java.util.function
+   */
+  public static <T, E extends Exception> Predicate<T> instrumented(
+      String name, SneakyPredicate<T, E> predicate) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return t -> metrics.test(predicate, t);
+  }
+
+  /**
+   * Wraps a Runnable lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param runnable Runnable that can throw an exception
+   * @return a Runnable as defined in java.util.function
+   */
+  public static <E extends Exception> Runnable instrumented(
+      String name, SneakyRunnable<E> runnable) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return () -> metrics.run(runnable);
+  }
+
+  /**
+   * Wraps a Supplier lambda and records its calls, failures and latencies under {@code name} in
+   * {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> instrumented(
+      String name, SneakySupplier<T, E> supplier) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return () -> metrics.get(supplier);
+  }
+
+  /**
+   * Wraps an UnaryOperator lambda and records its calls, failures and latencies under {@code name}
+   * in {@link SneakyMetrics}.
+   *
+   * @param name name of the metrics, shared by all wrappers of that name
+   * @param unaryOperator UnaryOperator that can throw an exception
+   * @param <T> type of unaryOperator's argument and returned value
+   * @return an UnaryOperator as defined in java.util.function
+   */
+  public static <T, E extends Exception> UnaryOperator<T> instrumented(
+      String name, SneakyUnaryOperator<T, E> unaryOperator) {
+    CallMetrics metrics = SneakyMetrics.metrics(name);
+    return t -> metrics.apply(unaryOperator, t);
+  }
+
+  /**
+   * Creates a stream over a collection whose stages take lambdas that throw exceptions. The stages
+   * are fused into one loop and need no {@code sneaked} wrappers. See {@link SneakyStream}.
+   *
+   * @param collection the source of the elements
+   * @param <T> type of the elements
+   * @return a sequential SneakyStream
+   */
+  public static <T> SneakyStream<T> stream(Collection<T> collection) {
+    return SneakyStream.of(collection);
+  }
+
+  /**
+   * Creates a stream over the elements of an iterator whose methods can throw an exception. The
+   * iterator is read once and lazily, a parallel stream splits it into batches of growing size.
+   * Close the stream to run its close handlers, see {@link SneakyStream#onClose(SneakyRunnable)}.
+   *
+   * @param iterator Iterator that can throw an exception
+   * @param <T> type of the elements
+   * @return a sequential SneakyStream
+   */
+  public static <T, E extends Exception> SneakyStream<T> stream(SneakyIterator<T, E> iterator) {
+    return SneakyStream.of(new SneakySpliterator<>(iterator, Spliterator.ORDERED));
+  }
+
+  /**
+   * Creates a stream over the values of a supplier, until it returns an empty Optional. This suits
+   * sources like a {@code ResultSet}:
+   *
+   * <pre>
+   *     try (SneakyStream&lt;User&gt; users =
+   *         stream(() -&gt; resultSet.next() ? Optional.of(toUser(resultSet)) : Optional.empty())
+   *             .onClose(resultSet::close)) {
+   *         users.filter(this::isAdmin).forEach(this::notify);
+   *     }
+   * </pre>
+   *
+   * <p>The supplier is read once and lazily, a parallel stream splits it into batches of growing
+   * size.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of the elements
+   * @return a sequential SneakyStream
+   */
+  public static <T, E extends Exception> SneakyStream<T> stream(
+      SneakySupplier<Optional<T>, E> supplier) {
+    return SneakyStream.of(SneakySpliterator.of(supplier));
+  }
+
+  /**
+   * Reads the values of a supplier ahead in the background, until it returns an empty Optional. Up
+   * to {@code depth} values are fetched while the caller processes the previous ones, which
+   * overlaps the latency of a slow source, like pages of a remote API, with the processing.
+   * Fetching runs on virtual threads, if available.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param depth maximum number of values fetched ahead
+   * @param <T> type of the values
+   * @return a Prefetcher that returns the values in order
+   */
+  public static <T, E extends Exception> Prefetcher<T> prefetching(
+      SneakySupplier<Optional<T>, E> supplier, int depth) {
+    return prefetching(supplier, depth, SneakyExecutors.tasks());
+  }
+
+  /**
+   * Reads the values of a supplier ahead, like {@link #prefetching(SneakySupplier, int)}, but
+   * fetches them with {@code executor}. An exception of the supplier is thrown by the Prefetcher at
+   * the position where it occurred.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param depth maximum number of values fetched ahead
+   * @param executor executes the fetching
+   * @param <T> type of the values
+   * @return a Prefetcher that returns the values in order
+   */
+  public static <T, E extends Exception> Prefetcher<T> prefetching(
+      SneakySupplier<Optional<T>, E> supplier, int depth, Executor executor) {
+    return new Prefetcher<>(supplier, depth, executor);
+  }
+
+  /**
+   * Wraps a BiConsumer lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param biConsumer BiConsumer that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of the second argument
+   * @return a BiConsumer as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> BiConsumer<T, U> translating(
+      ExceptionTranslator translator, SneakyBiConsumer<T, U, E> biConsumer) {
+    return (t, u) -> {
+      try {
+        biConsumer.accept(t, u);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "BiConsumer");
+      }
+    };
+  }
+
+  /**
+   * Wraps a BiFunction lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param biFunction BiFunction that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @param <R> return type of biFunction
+   * @return a BiFunction as defined in java.util.function
+   */
+  public static <T, U, R, E extends Exception> BiFunction<T, U, R> translating(
+      ExceptionTranslator translator, SneakyBiFunction<T, U, R, E> biFunction) {
+    return (t, u) -> {
+      try {
+        return biFunction.apply(t, u);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "BiFunction");
+      }
+    };
+  }
+
+  /**
+   * Wraps a BinaryOperator lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param binaryOperator BinaryOperator that can throw an exception
+   * @param <T> type of the two arguments and the return type of the binaryOperator
+   * @return a BinaryOperator as defined in java.util.function
+   */
+  public static <T, E extends Exception> BinaryOperator<T> translating(
+      ExceptionTranslator translator, SneakyBinaryOperator<T, E> binaryOperator) {
+    return (t1, t2) -> {
+      try {
+        return binaryOperator.apply(t1, t2);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "BinaryOperator");
+      }
+    };
+  }
+
+  /**
+   * Wraps a BiPredicate lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param biPredicate BiPredicate that can throw an exception
+   * @param <T> type of first argument
+   * @param <U> type of second argument
+   * @return a BiPredicate as defined in java.util.function
+   */
+  public static <T, U, E extends Exception> BiPredicate<T, U> translating(
+      ExceptionTranslator translator, SneakyBiPredicate<T, U, E> biPredicate) {
+    return (t, u) -> {
+      try {
+        return biPredicate.test(t, u);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "BiPredicate");
+      }
+    };
+  }
+
+  /**
+   * Wraps a Consumer lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param consumer Consumer that can throw an exception
+   * @param <T> type of first argument
+   * @return a Consumer as defined in java.util.function
+   */
+  public static <T, E extends Exception> Consumer<T> translating(
+      ExceptionTranslator translator, SneakyConsumer<T, E> consumer) {
+    return t -> {
+      try {
+        consumer.accept(t);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "Consumer");
+      }
+    };
+  }
+
+  /**
+   * Wraps a Function lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param function Function that can throw an exception
+   * @param <T> type of first argument
+   * @param <R> type of the second argument
+   * @return a Function as defined in java.util.function
+   */
+  public static <T, R, E extends Exception> Function<T, R> translating(
+      ExceptionTranslator translator, SneakyFunction<T, R, E> function) {
+    return t -> {
+      try {
+        return function.apply(t);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "Function");
+      }
+    };
+  }
+
+  /**
+   * Wraps a Predicate lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param predicate Predicate that can throw an exception
+   * @param <T> type of first argument
+   * @return a Predicate as defined in java.util.function
+   */
+  public static <T, E extends Exception> Predicate<T> translating(
+      ExceptionTranslator translator, SneakyPredicate<T, E> predicate) {
+    return t -> {
+      try {
+        return predicate.test(t);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "Predicate");
+      }
+    };
+  }
+
+  /**
+   * Wraps a Runnable lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param runnable Runnable that can throw an exception
+   * @return a Runnable as defined in java.util.function
+   */
+  public static <E extends Exception> Runnable translating(
+      ExceptionTranslator translator, SneakyRunnable<E> runnable) {
+    return () -> {
+      try {
+        runnable.run();
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "Runnable");
+      }
+    };
+  }
+
+  /**
+   * Wraps a Supplier lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a Supplier as defined in java.util.function
+   */
+  public static <T, E extends Exception> Supplier<T> translating(
+      ExceptionTranslator translator, SneakySupplier<T, E> supplier) {
+    return () -> {
+      try {
+        return supplier.get();
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "Supplier");
+      }
+    };
+  }
+
+  /**
+   * Wraps a UnaryOperator lambda and translates the exceptions it throws with {@code translator}.
+   *
+   * @param translator translates the exceptions
+   * @param unaryOperator UnaryOperator that can throw an exception
+   * @param <T> type of unaryOperator's argument and returned value
+   * @return a UnaryOperator as defined in java.util.function
+   */
+  public static <T, E extends Exception> UnaryOperator<T> translating(
+      ExceptionTranslator translator, SneakyUnaryOperator<T, E> unaryOperator) {
+    return t -> {
+      try {
+        return unaryOperator.apply(t);
+      } catch (Exception e) {
+        throw SneakyEvents.translated(translator, e, "UnaryOperator");
+      }
     };
   }
 }
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+/**
+ * Emits the Java Flight Recorder events of the wrappers:
+ *
+ * <ul>
+ *   <li>{@code com.rainerhahnekamp.sneakythrow.SneakyExceptionThrown} for each checked exception
+ *       that leaves a {@code sneaked}, {@code specialized} or {@code translating} wrapper, with a
+ *       stack trace. Runtime exceptions pass through the wrappers without an event.
+ *   <li>{@code com.rainerhahnekamp.sneakythrow.SneakyCall} for a sample of the calls of the {@code
+ *       Sneaky.instrumented} wrappers, while {@link SneakyMetrics} is enabled.
+ * </ul>
+ *
+ * <p>Both are disabled unless a recording enables them. The event classes need the {@code jdk.jfr}
+ * API of Java 11, so they are compiled separately when the library is built with Java 11 or later
+ * and loaded by reflection. On older JVMs, or if the library was built without them, the methods of
+ * this class do nothing.
+ */
+final class SneakyEvents {
+  /** One in this many calls of an instrumented wrapper is recorded as SneakyCall event. */
+  static final int CALL_SAMPLING = 64;
+
+  private static final String RECORDER_CLASS = "com.rainerhahnekamp.sneakythrow.JfrRecorder";
+
+  private static final Recorder RECORDER = loadRecorder();
+
+  private SneakyEvents() {}
+
+  /**
+   * Records a checked exception that leaves a wrapper.
+   *
+   * @param exception the exception
+   * @param wrapperType name of the functional interface of the wrapper
+   * @return never returns, sneaky throws the exception
+   */
+  static RuntimeException thrown(Exception exception, String wrapperType) {
+    RECORDER.thrown(exception, wrapperType);
+    return sneakyThrow(exception);
+  }
+
+  /**
+   * Records an exception that a translating wrapper caught, if it is a checked one, and translates
+   * it.
+   *
+   * @param translator translates the exception
+   * @param exception the exception
+   * @param wrapperType name of the functional interface of the wrapper
+   * @return the translated exception
+   */
+  static RuntimeException translated(
+      ExceptionTranslator translator, Exception exception, String wrapperType) {
+    if (!(exception instanceof RuntimeException)) {
+      RECORDER.thrown(exception, wrapperType);
+    }
+    return translator.translate(exception);
+  }
+
+  /**
+   * Starts the timing of a call if it is sampled.
+   *
+   * @return the event to pass to {@link #endCall}, or null if the call is not recorded
+   */
+  static Object beginCall() {
+    return RECORDER.beginCall();
+  }
+
+  static void endCall(Object event, String name, Exception failure) {
+    if (event != null) {
+      RECORDER.endCall(event, name, failure);
+    }
+  }
+
+  private static Recorder loadRecorder() {
+    try {
+      Class.forName("jdk.jfr.Event");
+      return (Recorder) Class.forName(RECORDER_CLASS).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+      return new NoRecorder();
+    }
+  }
+
+  /** Emits the events, implemented on top of {@code jdk.jfr}. */
+  interface Recorder {
+    void thrown(Exception exception, String wrapperType);
+
+    Object beginCall();
+
+    void endCall(Object event, String name, Exception failure);
+  }
+
+  private static final class NoRecorder implements Recorder {
+    @Override
+    public void thrown(Exception exception, String wrapperType) {}
+
+    @Override
+    public Object beginCall() {
+      return null;
+    }
+
+    @Override
+    public void endCall(Object event, String name, Exception failure) {}
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared by the concurrency utilities of this library.
+ *
+ * <p>Tasks that block run on virtual threads if the runtime supports them. The library targets Java
+ * 8, so {@code Executors.newVirtualThreadPerTaskExecutor} is looked up reflectively. Older runtimes
+ * fall back to a cached pool of daemon threads. Delayed tasks share a single daemon timer thread.
+ */
+final class SneakyExecutors {
+  private static final Executor TASKS = createTaskExecutor();
+  private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
+  private SneakyExecutors() {}
+
+  /** Executor for blocking tasks: one virtual thread per task or a cached thread pool. */
+  static Executor tasks() {
+    return TASKS;
+  }
+
+  /** Scheduler on a single daemon thread. Scheduled tasks must be short and must not block. */
+  static Scheduler scheduler() {
+    return (task, delayNanos) -> TIMER.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Creates daemon threads, so that threads of this library never keep the JVM alive.
+   *
+   * @param prefix prefix of the thread names
+   */
+  static ThreadFactory daemonThreads(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static ScheduledThreadPoolExecutor createTimer() {
+    ScheduledThreadPoolExecutor timer =
+        new ScheduledThreadPoolExecutor(1, daemonThreads("sneaky-timer"));
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
+  }
+
+  private static Executor createTaskExecutor() {
+    try {
+      return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool(daemonThreads("sneaky-task"));
+    }
+  }
+
+  /** Runs a task once after a delay. */
+  @FunctionalInterface
+  interface Scheduler {
+    void schedule(Runnable task, long delayNanos);
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The result of an asynchronous computation whose lambdas can throw checked exceptions. It is
+ * created by {@link Sneaky#async(SneakySupplier, Executor)}:
+ *
+ * <pre>
+ *     Config config = async(() -&gt; download(url), executor)
+ *         .thenApplySneaky(this::parse)
+ *         .thenApplySneaky(this::validate)
+ *         .join();
+ * </pre>
+ *
+ * <p>A {@link CompletableFuture} wraps a failure into a {@link CompletionException} when it passes
+ * it on to a dependent stage, which fills in another stack trace, and {@code get()} wraps it once
+ * more. A SneakyFuture carries the original exception as the value of the underlying
+ * CompletableFuture instead, so that a failure passes through any number of stages without
+ * allocating a further exception. {@link #join()} rethrows it unchanged.
+ *
+ * @param <T> type of the value
+ */
+public final class SneakyFuture<T> {
+  private final CompletableFuture<Object> future;
+
+  private SneakyFuture(CompletableFuture<Object> future) {
+    this.future = future;
+  }
+
+  static <T, E extends Exception> SneakyFuture<T> supply(
+      SneakySupplier<T, E> supplier, Executor executor) {
+    return new SneakyFuture<>(CompletableFuture.supplyAsync(() -> get(supplier), executor));
+  }
+
+  static <S, T, E extends Exception> SneakyFuture<T> thenApply(
+      CompletableFuture<S> stage, SneakyFunction<? super S, ? extends T, E> function) {
+    return new SneakyFuture<>(stage.thenApply(value -> apply(function, value)));
+  }
+
+  /**
+   * Creates a SneakyFuture that is already completed with a value.
+   *
+   * @param value the value
+   * @param <T> type of the value
+   * @return a completed SneakyFuture
+   */
+  public static <T> SneakyFuture<T> completed(T value) {
+    return new SneakyFuture<>(CompletableFuture.completedFuture(value));
+  }
+
+  /**
+   * Creates a SneakyFuture that is already completed with an exception.
+   *
+   * @param exception the exception
+   * @param <T> type of the value
+   * @return a failed SneakyFuture
+   */
+  public static <T> SneakyFuture<T> failed(Throwable exception) {
+    return new SneakyFuture<>(
+        CompletableFuture.completedFuture(
+            new Failure(Objects.requireNonNull(exception, "exception"))));
+  }
+
+  /**
+   * Applies a lambda (Function) to the value, once it is available. A failure is passed on without
+   * calling the function.
+   *
+   * @param function Function that can throw an exception
+   * @param <R> return type of function
+   * @return a SneakyFuture of the function's value
+   */
+  public <R, E extends Exception> SneakyFuture<R> thenApplySneaky(
+      SneakyFunction<? super T, ? extends R, E> function) {
+    return new SneakyFuture<>(
+        future.thenApply(value -> value instanceof Failure ? value : apply(function, value)));
+  }
+
+  /**
+   * Applies a lambda (Function) that returns another SneakyFuture to the value, once it is
+   * available. A failure is passed on without calling the function.
+   *
+   * @param function Function that can throw an exception
+   * @param <R> type of the value of the returned SneakyFuture
+   * @return a SneakyFuture that completes with the SneakyFuture returned by function
+   */
+  public <R, E extends Exception> SneakyFuture<R> thenComposeSneaky(
+      SneakyFunction<? super T, SneakyFuture<R>, E> function) {
+    return new SneakyFuture<>(
+        future.thenCompose(
+            value ->
+                value instanceof Failure
+                    ? CompletableFuture.completedFuture(value)
+                    : compose(function, value)));
+  }
+
+  /**
+   * Applies a lambda (BiFunction) to the values of this and another SneakyFuture, once both are
+   * available. If one of them failed, its exception is passed on without calling the function.
+   *
+   * @param other the other SneakyFuture
+   * @param biFunction BiFunction that can throw an exception
+   * @param <U> type of the other value
+   * @param <R> return type of biFunction
+   * @return a SneakyFuture of the biFunction's value
+   */
+  public <U, R, E extends Exception> SneakyFuture<R> thenCombineSneaky(
+      SneakyFuture<U> other, SneakyBiFunction<? super T, ? super U, ? extends R, E> biFunction) {
+    return new SneakyFuture<>(
+        future.thenCombine(
+            other.future, (value, otherValue) -> combine(biFunction, value, otherValue)));
+  }
+
+  /**
+   * Turns a failure into a value. A value is passed on without calling the function.
+   *
+   * @param recovery Function that can throw an exception
+   * @return a SneakyFuture of the value or of the recovery's value
+   */
+  public <E extends Exception> SneakyFuture<T> recoverSneaky(
+      SneakyFunction<? super Throwable, ? extends T, E> recovery) {
+    return new SneakyFuture<>(
+        future.thenApply(
+            value ->
+                value instanceof Failure ? apply(recovery, ((Failure) value).exception) : value));
+  }
+
+  /**
+   * Waits for the value and returns it. A failure is rethrown with its original exception.
+   *
+   * @return the value
+   */
+  @SuppressWarnings("unchecked")
+  public T join() {
+    Object value;
+    try {
+      value = future.join();
+    } catch (CompletionException e) {
+      throw sneakyThrow(e.getCause());
+    }
+    if (value instanceof Failure) {
+      throw sneakyThrow(((Failure) value).exception);
+    }
+    return (T) value;
+  }
+
+  /**
+   * Returns true if the value or the failure is available, so that {@link #join()} does not wait.
+   *
+   * @return true if this SneakyFuture is completed
+   */
+  public boolean isDone() {
+    return future.isDone();
+  }
+
+  /**
+   * Returns true if this SneakyFuture is completed with a failure. It does not wait, so it is false
+   * while the outcome is not available yet.
+   *
+   * @return true if {@link #join()} throws
+   */
+  public boolean isFailure() {
+    return future.isCompletedExceptionally() || future.getNow(null) instanceof Failure;
+  }
+
+  /**
+   * Returns a CompletableFuture with the same outcome. Its failures are wrapped like the ones of
+   * any other CompletableFuture.
+   *
+   * @return a new CompletableFuture
+   */
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<T> toCompletableFuture() {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    future.whenComplete(
+        (value, exception) -> {
+          if (exception != null) {
+            result.completeExceptionally(exception);
+          } else if (value instanceof Failure) {
+            result.completeExceptionally(((Failure) value).exception);
+          } else {
+            result.complete((T) value);
+          }
+        });
+    return result;
+  }
+
+  private static Object get(SneakySupplier<?, ?> supplier) {
+    try {
+      return supplier.get();
+    } catch (Exception e) {
+      return new Failure(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Object apply(SneakyFunction<? super T, ?, ?> function, Object value) {
+    try {
+      return function.apply((T) value);
+    } catch (Exception e) {
+      return new Failure(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, R> CompletableFuture<Object> compose(
+      SneakyFunction<? super T, SneakyFuture<R>, ?> function, Object value) {
+    try {
+      return function.apply((T) value).future;
+    } catch (Exception e) {
+      return CompletableFuture.completedFuture(new Failure(e));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, U> Object combine(
+      SneakyBiFunction<? super T, ? super U, ?, ?> biFunction, Object value, Object otherValue) {
+    if (value instanceof Failure) {
+      return value;
+    }
+    if (otherValue instanceof Failure) {
+      return otherValue;
+    }
+    try {
+      return biFunction.apply((T) value, (U) otherValue);
+    } catch (Exception e) {
+      return new Failure(e);
+    }
+  }
+
+  /** Marks a failure. Values of the type T are never instances of this private class. */
+  private static final class Failure {
+    private final Throwable exception;
+
+    private Failure(Throwable exception) {
+      this.exception = exception;
+    }
+  }
+}
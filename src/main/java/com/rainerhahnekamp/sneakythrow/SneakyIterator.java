@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+/**
+ * An iterator whose methods can throw an exception, for example over the rows of a {@code
+ * ResultSet} or the records of a file. It is the source of {@link Sneaky#stream(SneakyIterator)}:
+ *
+ * <pre>
+ *     SneakyIterator&lt;User, SQLException&gt; users =
+ *         new SneakyIterator&lt;User, SQLException&gt;() {
+ *             public boolean hasNext() throws SQLException {
+ *                 return resultSet.next();
+ *             }
+ *
+ *             public User next() throws SQLException {
+ *                 return toUser(resultSet);
+ *             }
+ *         };
+ * </pre>
+ *
+ * @param <T> type of the elements
+ * @param <E> type of the exception
+ */
+public interface SneakyIterator<T, E extends Exception> {
+  /**
+   * Returns true if there is a further element. A stream calls it once before each call of {@link
+   * #next()}, so it can advance the source like {@code ResultSet.next()} does.
+   *
+   * @return true if {@link #next()} returns an element
+   * @throws E if the source fails
+   */
+  boolean hasNext() throws E;
+
+  /**
+   * Returns the next element.
+   *
+   * @return the next element
+   * @throws E if the source fails
+   * @throws java.util.NoSuchElementException if there is no further element
+   */
+  T next() throws E;
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the lambdas wrapped by {@code Sneaky.instrumented}:
+ *
+ * <pre>
+ *     Function&lt;Path, List&lt;String&gt;&gt; read = instrumented("read-config", Files::readAllLines);
+ *     ...
+ *     CallSnapshot snapshot = SneakyMetrics.snapshot("read-config").get();
+ * </pre>
+ *
+ * <p>All wrappers with the same name share their metrics. The metrics are also available through
+ * JMX as {@value #OBJECT_NAME}.
+ *
+ * <p>Recording is enabled by default. While it is disabled, an instrumented lambda costs a read of
+ * a volatile field more than a {@code sneaked} one.
+ */
+public final class SneakyMetrics {
+  static final String OBJECT_NAME = "com.rainerhahnekamp.sneakythrow:type=SneakyMetrics";
+
+  private static final ConcurrentMap<String, CallMetrics> METRICS = new ConcurrentHashMap<>();
+  private static volatile boolean enabled = true;
+
+  private SneakyMetrics() {}
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables recording for all instrumented lambdas. Recorded metrics are kept.
+   *
+   * @param enabled whether calls are recorded
+   */
+  public static void setEnabled(boolean enabled) {
+    SneakyMetrics.enabled = enabled;
+  }
+
+  /**
+   * Returns the metrics of the given name.
+   *
+   * @param name name of instrumented lambdas
+   * @return the snapshot or an empty Optional if there is no instrumented lambda of that name
+   */
+  public static Optional<CallSnapshot> snapshot(String name) {
+    CallMetrics metrics = METRICS.get(name);
+    return metrics == null ? Optional.empty() : Optional.of(metrics.snapshot());
+  }
+
+  /**
+   * Returns the metrics of all names.
+   *
+   * @return the snapshots ordered by name
+   */
+  public static List<CallSnapshot> snapshots() {
+    List<CallSnapshot> snapshots = new ArrayList<>();
+    METRICS.values().forEach(metrics -> snapshots.add(metrics.snapshot()));
+    snapshots.sort(Comparator.comparing(CallSnapshot::getName));
+    return snapshots;
+  }
+
+  /** Sets all metrics back to zero. */
+  public static void reset() {
+    METRICS.values().forEach(CallMetrics::reset);
+  }
+
+  static CallMetrics metrics(String name) {
+    Registration.ensureRegistered();
+    return METRICS.computeIfAbsent(name, CallMetrics::new);
+  }
+
+  /** Registers the MXBean once, when the first instrumented lambda is created. */
+  private static final class Registration implements SneakyMetricsMXBean {
+    static {
+      try {
+        ManagementFactory.getPlatformMBeanServer()
+            .registerMBean(new Registration(), new ObjectName(OBJECT_NAME));
+      } catch (JMException | SecurityException e) {
+        // metrics stay available through SneakyMetrics
+      }
+    }
+
+    static void ensureRegistered() {}
+
+    @Override
+    public boolean isEnabled() {
+      return SneakyMetrics.isEnabled();
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+      SneakyMetrics.setEnabled(enabled);
+    }
+
+    @Override
+    public List<CallSnapshot> getSnapshots() {
+      return SneakyMetrics.snapshots();
+    }
+
+    @Override
+    public void reset() {
+      SneakyMetrics.reset();
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs lambdas (Supplier) concurrently and waits for all of them. If one of them fails, the others
+ * are cancelled and {@link #join()} rethrows the original exception:
+ *
+ * <pre>
+ *     try (SneakyScope scope = new SneakyScope()) {
+ *         Supplier&lt;User&gt; user = scope.fork(() -&gt; loadUser(id));
+ *         Supplier&lt;List&lt;Order&gt;&gt; orders = scope.fork(() -&gt; loadOrders(id));
+ *         scope.join();
+ *         return new Dashboard(user.get(), orders.get());
+ *     }
+ * </pre>
+ *
+ * <p>By default, the lambdas run on virtual threads if the runtime supports them, and on a shared
+ * pool of daemon threads otherwise. Cancelled lambdas are interrupted, and {@link #join()} waits
+ * until they have returned.
+ *
+ * <p>A scope belongs to the thread that created it. Only that thread may call {@link
+ * #fork(SneakySupplier)}, {@link #join()} and {@link #close()}.
+ */
+public final class SneakyScope implements AutoCloseable {
+  private final Executor executor;
+  private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<>();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final Object lock = new Object();
+  private int pending;
+  private volatile boolean joined;
+
+  /** Creates a scope that runs the lambdas on virtual threads, if available. */
+  public SneakyScope() {
+    this(SneakyExecutors.tasks());
+  }
+
+  /**
+   * Creates a scope that runs the lambdas with {@code executor}.
+   *
+   * @param executor executes the lambdas
+   */
+  public SneakyScope(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Starts a lambda (Supplier) in the background.
+   *
+   * @param supplier Supplier that can throw an exception
+   * @param <T> type of supplier's return value
+   * @return a Supplier that returns the value after {@link #join()}
+   */
+  public <T, E extends Exception> Supplier<T> fork(SneakySupplier<T, E> supplier) {
+    if (joined) {
+      throw new IllegalStateException("Scope is already joined");
+    }
+    FutureTask<T> future =
+        new FutureTask<T>(supplier::get) {
+          @Override
+          public void run() {
+            try {
+              super.run();
+            } finally {
+              finished();
+            }
+          }
+
+          @Override
+          protected void setException(Throwable throwable) {
+            failed(this, throwable);
+            super.setException(throwable);
+          }
+        };
+    synchronized (lock) {
+      pending++;
+    }
+    futures.add(future);
+    if (failure.get() != null) {
+      future.cancel(true);
+      finished();
+    } else {
+      try {
+        executor.execute(future);
+      } catch (RejectedExecutionException e) {
+        future.cancel(false);
+        finished();
+        throw e;
+      }
+    }
+    return () -> result(future);
+  }
+
+  /**
+   * Waits until all lambdas are finished. If one of them failed, the other lambdas are cancelled,
+   * and the exception is rethrown once they have returned. If the waiting thread is interrupted,
+   * all lambdas are cancelled and the {@link InterruptedException} is thrown.
+   */
+  public void join() {
+    joined = true;
+    try {
+      synchronized (lock) {
+        while (pending > 0) {
+          lock.wait();
+        }
+      }
+    } catch (InterruptedException e) {
+      close();
+      throw sneakyThrow(e);
+    }
+    Throwable first = failure.get();
+    if (first != null) {
+      throw sneakyThrow(first);
+    }
+  }
+
+  /** Cancels all lambdas that are still running. */
+  @Override
+  public void close() {
+    cancel(null);
+  }
+
+  /**
+   * The failed lambda's own future is skipped, since cancelling it would interrupt the thread that
+   * runs it, which is the caller's thread with a direct executor.
+   */
+  private void failed(Future<?> own, Throwable throwable) {
+    if (failure.compareAndSet(null, throwable)) {
+      cancel(own);
+    }
+  }
+
+  private void cancel(Future<?> skipped) {
+    for (Future<?> future : futures) {
+      if (future != skipped) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private void finished() {
+    synchronized (lock) {
+      if (--pending == 0) {
+        lock.notifyAll();
+      }
+    }
+  }
+
+  private <T> T result(Future<T> future) {
+    if (!joined) {
+      throw new IllegalStateException("Result is not available before join");
+    }
+    if (!future.isDone() || future.isCancelled()) {
+      throw new IllegalStateException("Lambda did not complete");
+    }
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw sneakyThrow(e.getCause());
+    } catch (InterruptedException e) {
+      throw sneakyThrow(e);
+    }
+  }
+}
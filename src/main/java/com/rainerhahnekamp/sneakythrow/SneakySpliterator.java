@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Spliterator} over a {@link SneakyIterator} of unknown size. It follows the JDK's
+ * iterator spliterator: {@link #trySplit()} copies a batch of elements into an array and returns a
+ * spliterator over it. Each batch is {@link #BATCH_UNIT} elements larger than the previous one, up
+ * to {@link #MAX_BATCH}, so the number of splits grows only logarithmically with the size of the
+ * source, while the first ones still give the other workers something to do.
+ *
+ * <p>Exceptions of the iterator are sneaky thrown.
+ *
+ * @param <T> type of the elements
+ */
+final class SneakySpliterator<T> implements Spliterator<T> {
+  static final int BATCH_UNIT = 1 << 10;
+  static final int MAX_BATCH = 1 << 25;
+
+  private final SneakyIterator<T, RuntimeException> iterator;
+  private final int characteristics;
+  private int batch;
+
+  @SuppressWarnings("unchecked")
+  SneakySpliterator(SneakyIterator<? extends T, ?> iterator, int characteristics) {
+    this.iterator = (SneakyIterator<T, RuntimeException>) Objects.requireNonNull(iterator);
+    this.characteristics = characteristics;
+  }
+
+  /** Creates a spliterator over the values of a supplier, until it returns an empty Optional. */
+  static <T> SneakySpliterator<T> of(SneakySupplier<Optional<T>, ?> supplier) {
+    return new SneakySpliterator<>(new OptionalIterator<>(supplier), ORDERED | NONNULL);
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    Objects.requireNonNull(action);
+    if (iterator.hasNext()) {
+      action.accept(iterator.next());
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public void forEachRemaining(Consumer<? super T> action) {
+    Objects.requireNonNull(action);
+    while (iterator.hasNext()) {
+      action.accept(iterator.next());
+    }
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    if (!iterator.hasNext()) {
+      return null;
+    }
+    int size = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+    Object[] elements = new Object[size];
+    int count = 0;
+    do {
+      elements[count++] = iterator.next();
+    } while (count < size && iterator.hasNext());
+    batch = count;
+    return Spliterators.spliterator(elements, 0, count, characteristics);
+  }
+
+  @Override
+  public long estimateSize() {
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public int characteristics() {
+    return characteristics;
+  }
+
+  /** Reads one value ahead, since only the supplier knows whether there is a further one. */
+  private static final class OptionalIterator<T> implements SneakyIterator<T, Exception> {
+    private final SneakySupplier<Optional<T>, ?> supplier;
+    private T next;
+    private boolean done;
+
+    OptionalIterator(SneakySupplier<Optional<T>, ?> supplier) {
+      this.supplier = Objects.requireNonNull(supplier);
+    }
+
+    @Override
+    public boolean hasNext() throws Exception {
+      if (next == null && !done) {
+        Optional<T> value = Objects.requireNonNull(supplier.get(), "supplier returned null");
+        if (value.isPresent()) {
+          next = value.get();
+        } else {
+          done = true;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public T next() throws Exception {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T value = next;
+      next = null;
+      return value;
+    }
+  }
+}
@@ -0,0 +1,508 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A stream whose stages take lambdas that throw exceptions. It is created by {@link
+ * Sneaky#stream(Collection)}, {@link Sneaky#stream(SneakyIterator)} and {@link
+ * Sneaky#stream(com.rainerhahnekamp.sneakythrow.functional.SneakySupplier)}:
+ *
+ * <pre>
+ *     List&lt;User&gt; admins = stream(ids)
+ *         .map(userClient::load)
+ *         .filter(this::isAdmin)
+ *         .collect(Collectors.toList());
+ * </pre>
+ *
+ * <p>The stages are fused into one chain of sinks when a terminal operation runs. Each element
+ * passes from the loop over the source directly into the lambdas, without a {@code sneaked} wrapper
+ * per stage and without the pipeline of {@link java.util.stream.Stream}. Exceptions are rethrown
+ * unchanged. A parallel stream splits its source with {@link Spliterator#trySplit()} in the {@link
+ * ForkJoinPool}, stops at the first exception and combines the results of the parts in their order.
+ *
+ * <p>The stages are immutable. A stream over a collection runs its stages over the current elements
+ * of the collection on every terminal operation and can be reused. A stream over an iterator or a
+ * supplier reads it once, without holding more than a batch of elements in memory, and should be
+ * closed to run the handlers registered with {@link #onClose(SneakyRunnable)}.
+ *
+ * @param <T> type of the elements
+ */
+public final class SneakyStream<T> implements AutoCloseable {
+  private static final Stage IDENTITY = downstream -> downstream;
+
+  private final Source source;
+  private final Stage stage;
+  private final boolean parallel;
+
+  private SneakyStream(Source source, Stage stage, boolean parallel) {
+    this.source = source;
+    this.stage = stage;
+    this.parallel = parallel;
+  }
+
+  static <T> SneakyStream<T> of(Collection<T> collection) {
+    Objects.requireNonNull(collection, "collection");
+    return new SneakyStream<>(new Source(collection, null), IDENTITY, false);
+  }
+
+  static <T> SneakyStream<T> of(Spliterator<T> spliterator) {
+    return new SneakyStream<>(new Source(null, spliterator), IDENTITY, false);
+  }
+
+  /**
+   * Applies a function to each element.
+   *
+   * @param mapper Function that can throw an exception
+   * @param <R> type of the new elements
+   * @return a SneakyStream of the results
+   */
+  @SuppressWarnings("unchecked")
+  public <R> SneakyStream<R> map(SneakyFunction<? super T, ? extends R, ?> mapper) {
+    return then(downstream -> t -> downstream.accept(mapper.apply((T) t)));
+  }
+
+  /**
+   * Keeps the elements that match a predicate.
+   *
+   * @param predicate Predicate that can throw an exception
+   * @return a SneakyStream of the matching elements
+   */
+  @SuppressWarnings("unchecked")
+  public SneakyStream<T> filter(SneakyPredicate<? super T, ?> predicate) {
+    return then(
+        downstream ->
+            t -> {
+              if (predicate.test((T) t)) {
+                downstream.accept(t);
+              }
+            });
+  }
+
+  /**
+   * Replaces each element with the elements of the stream a function returns for it. The stream is
+   * closed afterwards, a null stream is treated as empty one.
+   *
+   * @param mapper Function that can throw an exception
+   * @param <R> type of the new elements
+   * @return a SneakyStream of the elements of all returned streams
+   */
+  @SuppressWarnings("unchecked")
+  public <R> SneakyStream<R> flatMap(
+      SneakyFunction<? super T, ? extends Stream<? extends R>, ?> mapper) {
+    return then(
+        downstream ->
+            t -> {
+              try (Stream<? extends R> stream = mapper.apply((T) t)) {
+                if (stream != null) {
+                  Iterator<? extends R> iterator = stream.iterator();
+                  while (iterator.hasNext()) {
+                    downstream.accept(iterator.next());
+                  }
+                }
+              }
+            });
+  }
+
+  /**
+   * Returns an equivalent stream that runs its terminal operation in the {@link
+   * java.util.concurrent.ForkJoinPool}.
+   *
+   * @return a parallel SneakyStream
+   */
+  public SneakyStream<T> parallel() {
+    return parallel ? this : new SneakyStream<>(source, stage, true);
+  }
+
+  /**
+   * Returns an equivalent stream that runs its terminal operation in the calling thread.
+   *
+   * @return a sequential SneakyStream
+   */
+  public SneakyStream<T> sequential() {
+    return parallel ? new SneakyStream<>(source, stage, false) : this;
+  }
+
+  public boolean isParallel() {
+    return parallel;
+  }
+
+  /**
+   * Registers a handler that {@link #close()} runs, for example to close the underlying resource.
+   * The handlers belong to the whole stream, including the stages before and after this one.
+   *
+   * @param closeHandler Runnable that can throw an exception
+   * @return this SneakyStream
+   */
+  public SneakyStream<T> onClose(SneakyRunnable<?> closeHandler) {
+    source.onClose(Objects.requireNonNull(closeHandler, "closeHandler"));
+    return this;
+  }
+
+  /**
+   * Runs the close handlers in the order of their registration, once. If handlers throw, the first
+   * exception is rethrown with the others added as suppressed exceptions.
+   */
+  @Override
+  public void close() {
+    source.close();
+  }
+
+  /**
+   * Executes an action for each element. A parallel stream executes it concurrently and in no
+   * particular order.
+   *
+   * @param action Consumer that can throw an exception
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(SneakyConsumer<? super T, ?> action) {
+    SneakyConsumer<Object, ?> sink = (SneakyConsumer<Object, ?>) action;
+    evaluate(() -> sink);
+  }
+
+  /**
+   * Combines the elements with an associative function, starting with {@code identity}.
+   *
+   * @param identity identity value of the accumulator
+   * @param accumulator BinaryOperator that can throw an exception
+   * @return the result of the reduction
+   */
+  public T reduce(T identity, SneakyBinaryOperator<T, ?> accumulator) {
+    List<Reduction<T>> reductions = evaluate(() -> new Reduction<>(identity, accumulator));
+    return combine(reductions, accumulator).value;
+  }
+
+  /**
+   * Combines the elements with an associative function.
+   *
+   * @param accumulator BinaryOperator that can throw an exception
+   * @return the result of the reduction or an empty Optional if there are no elements
+   */
+  public Optional<T> reduce(SneakyBinaryOperator<T, ?> accumulator) {
+    List<Reduction<T>> reductions = evaluate(() -> new Reduction<>(accumulator));
+    Reduction<T> reduction = combine(reductions, accumulator);
+    return reduction.present ? Optional.of(reduction.value) : Optional.empty();
+  }
+
+  /**
+   * Collects the elements with a {@link Collector}. A parallel stream collects each chunk into a
+   * container of its own and combines them in order.
+   *
+   * @param collector the Collector
+   * @param <A> type of the mutable container
+   * @param <R> type of the result
+   * @return the result of the collector
+   */
+  public <A, R> R collect(Collector<? super T, A, R> collector) {
+    BiConsumer<A, ? super T> accumulator = collector.accumulator();
+    List<Collecting<A, T>> collectings =
+        evaluate(() -> new Collecting<>(collector.supplier().get(), accumulator));
+    A container = collectings.get(0).container;
+    for (int i = 1; i < collectings.size(); i++) {
+      container = collector.combiner().apply(container, collectings.get(i).container);
+    }
+    if (collector.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+      @SuppressWarnings("unchecked")
+      R result = (R) container;
+      return result;
+    }
+    return collector.finisher().apply(container);
+  }
+
+  /**
+   * Collects the elements into a list.
+   *
+   * @return an unmodifiable list of the elements in order
+   */
+  public List<T> toList() {
+    return Collections.unmodifiableList(collect(Collectors.toList()));
+  }
+
+  /**
+   * Counts the elements.
+   *
+   * @return the number of elements
+   */
+  public long count() {
+    return collect(Collectors.counting());
+  }
+
+  private <R> SneakyStream<R> then(Stage next) {
+    Stage previous = stage;
+    return new SneakyStream<>(source, downstream -> previous.wrap(next.wrap(downstream)), parallel);
+  }
+
+  /**
+   * Runs the stages over the source into sinks created by {@code terminal} and sneaky throws the
+   * first exception. A sequential stream uses a single sink. A parallel one splits the source,
+   * gives each part a sink of its own and returns the sinks in the order of their parts.
+   */
+  @SuppressWarnings("unchecked")
+  private <S extends SneakyConsumer<Object, ?>> List<S> evaluate(Supplier<S> terminal) {
+    Spliterator<Object> spliterator = (Spliterator<Object>) source.spliterator();
+    if (!parallel) {
+      S sink = terminal.get();
+      SneakyConsumer<Object, RuntimeException> chain =
+          (SneakyConsumer<Object, RuntimeException>) stage.wrap(sink);
+      spliterator.forEachRemaining(chain::accept);
+      return Collections.singletonList(sink);
+    }
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<S> sinks =
+        new SplittingTask<>(stage, terminal, spliterator, threshold(spliterator), failure).invoke();
+    Throwable first = failure.get();
+    if (first != null) {
+      throw sneakyThrow(first);
+    }
+    return sinks;
+  }
+
+  /**
+   * Splits into about four parts per worker of the common pool, like parallel streams do. A source
+   * of unknown size is split into its batches only.
+   */
+  private static long threshold(Spliterator<?> spliterator) {
+    return Math.max(1, spliterator.estimateSize() / (ForkJoinPool.getCommonPoolParallelism() << 2));
+  }
+
+  private static <T> Reduction<T> combine(
+      List<Reduction<T>> reductions, SneakyBinaryOperator<T, ?> accumulator) {
+    Reduction<T> result = reductions.get(0);
+    for (int i = 1; i < reductions.size(); i++) {
+      Reduction<T> next = reductions.get(i);
+      if (next.present) {
+        try {
+          result.accept(next.value);
+        } catch (Exception e) {
+          throw sneakyThrow(e);
+        }
+      }
+    }
+    return result;
+  }
+
+  /** The elements of a stream and its close handlers, shared by all its stages. */
+  private static final class Source {
+    private final Collection<?> collection;
+    private final List<SneakyRunnable<?>> closeHandlers = new ArrayList<>();
+    private Spliterator<?> spliterator;
+    private boolean closed;
+
+    Source(Collection<?> collection, Spliterator<?> spliterator) {
+      this.collection = collection;
+      this.spliterator = spliterator;
+    }
+
+    Spliterator<?> spliterator() {
+      if (collection != null) {
+        return collection.spliterator();
+      }
+      Spliterator<?> result = spliterator;
+      if (result == null) {
+        throw new IllegalStateException("stream has already been operated upon");
+      }
+      spliterator = null;
+      return result;
+    }
+
+    synchronized void onClose(SneakyRunnable<?> closeHandler) {
+      if (closed) {
+        throw new IllegalStateException("stream has already been closed");
+      }
+      closeHandlers.add(closeHandler);
+    }
+
+    void close() {
+      List<SneakyRunnable<?>> handlers;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        handlers = new ArrayList<>(closeHandlers);
+      }
+      Throwable first = null;
+      for (SneakyRunnable<?> handler : handlers) {
+        try {
+          handler.run();
+        } catch (Throwable throwable) {
+          if (first == null) {
+            first = throwable;
+          } else {
+            first.addSuppressed(throwable);
+          }
+        }
+      }
+      if (first != null) {
+        throw sneakyThrow(first);
+      }
+    }
+  }
+
+  /**
+   * Splits a spliterator down to the threshold and runs the stages over each part in the {@link
+   * ForkJoinPool}. Like {@link ParallelTask}, all tasks share one failure reference and stop as
+   * soon as it is set.
+   */
+  private static final class SplittingTask<S extends SneakyConsumer<Object, ?>>
+      extends RecursiveTask<List<S>> {
+    private static final long serialVersionUID = 1L;
+
+    private final Stage stage;
+    private final Supplier<S> terminal;
+    private final Spliterator<Object> spliterator;
+    private final long threshold;
+    private final AtomicReference<Throwable> failure;
+
+    SplittingTask(
+        Stage stage,
+        Supplier<S> terminal,
+        Spliterator<Object> spliterator,
+        long threshold,
+        AtomicReference<Throwable> failure) {
+      this.stage = stage;
+      this.terminal = terminal;
+      this.spliterator = spliterator;
+      this.threshold = threshold;
+      this.failure = failure;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<S> compute() {
+      if (failure.get() != null) {
+        return Collections.emptyList();
+      }
+      Spliterator<Object> prefix;
+      try {
+        prefix = spliterator.estimateSize() > threshold ? spliterator.trySplit() : null;
+      } catch (Throwable throwable) {
+        fail(throwable);
+        return Collections.emptyList();
+      }
+      if (prefix != null) {
+        SplittingTask<S> left = new SplittingTask<>(stage, terminal, prefix, threshold, failure);
+        SplittingTask<S> right =
+            new SplittingTask<>(stage, terminal, spliterator, threshold, failure);
+        invokeAll(left, right);
+        List<S> sinks = new ArrayList<>(left.join());
+        sinks.addAll(right.join());
+        return sinks;
+      }
+      S sink = terminal.get();
+      Consumer<Object> chain =
+          ((SneakyConsumer<Object, RuntimeException>) stage.wrap(sink))::accept;
+      try {
+        while (failure.get() == null && spliterator.tryAdvance(chain)) {}
+      } catch (Throwable throwable) {
+        fail(throwable);
+      }
+      return Collections.singletonList(sink);
+    }
+
+    private void fail(Throwable throwable) {
+      if (!failure.compareAndSet(null, throwable)) {
+        Throwable first = failure.get();
+        if (first != throwable) {
+          first.addSuppressed(throwable);
+        }
+      }
+    }
+  }
+
+  /** Builds the sink for the elements of the previous stage from the sink of the next one. */
+  @FunctionalInterface
+  private interface Stage {
+    SneakyConsumer<Object, ?> wrap(SneakyConsumer<Object, ?> downstream);
+  }
+
+  private static final class Reduction<T> implements SneakyConsumer<Object, Exception> {
+    private final SneakyBinaryOperator<T, ?> accumulator;
+    private boolean present;
+    private T value;
+
+    Reduction(SneakyBinaryOperator<T, ?> accumulator) {
+      this.accumulator = accumulator;
+    }
+
+    Reduction(T identity, SneakyBinaryOperator<T, ?> accumulator) {
+      this.accumulator = accumulator;
+      this.present = true;
+      this.value = identity;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(Object t) throws Exception {
+      if (present) {
+        value = accumulator.apply(value, (T) t);
+      } else {
+        present = true;
+        value = (T) t;
+      }
+    }
+  }
+
+  private static final class Collecting<A, T> implements SneakyConsumer<Object, Exception> {
+    private final A container;
+    private final BiConsumer<A, ? super T> accumulator;
+
+    Collecting(A container, BiConsumer<A, ? super T> accumulator) {
+      this.container = container;
+      this.accumulator = accumulator;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(Object t) {
+      accumulator.accept(container, (T) t);
+    }
+  }
+}
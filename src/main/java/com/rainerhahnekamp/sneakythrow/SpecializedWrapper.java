@@ -0,0 +1,370 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Creates the wrappers of one sneaky functional interface with one wrapper class per class of the
+ * wrapped lambda.
+ *
+ * <p>Each functional interface has a template class below, which calls the sneaky lambda and emits
+ * the {@link SneakyEvents} like the {@code sneaked} wrappers do. For every lambda class, the bytes
+ * of the template are defined again as a class of its own, so the call to the lambda inside it only
+ * ever sees that lambda class. It stays monomorphic and can be inlined, no matter how many
+ * different lambdas are wrapped. The classes are defined like the JDK defines lambda classes: as
+ * hidden class on Java 15 and later, as VM anonymous class before. Neither is held by the class
+ * loader of this library, and the constructor of each class is cached in a {@link ClassValue} of
+ * the lambda class, so a wrapper class is unloaded together with its lambda class.
+ *
+ * <p>If the JVM supports neither, or the template's bytes cannot be read, all lambdas share the
+ * template class itself, which behaves like {@code sneaked}.
+ *
+ * @param <S> the sneaky functional interface
+ * @param <J> the functional interface in java.util.function
+ */
+final class SpecializedWrapper<S, J> {
+  private static final Definer DEFINER = createDefiner();
+
+  private final Class<?> template;
+  private final MethodType constructorType;
+  private final ClassValue<MethodHandle> constructors =
+      new ClassValue<MethodHandle>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> lambdaClass) {
+          return createConstructor();
+        }
+      };
+  private volatile byte[] bytes;
+
+  SpecializedWrapper(Class<?> sneakyType, Class<?> template) {
+    this.template = template;
+    this.constructorType = MethodType.methodType(void.class, sneakyType);
+  }
+
+  @SuppressWarnings("unchecked")
+  J wrap(S sneaky) {
+    MethodHandle constructor = constructors.get(sneaky.getClass());
+    try {
+      return (J) constructor.invoke(sneaky);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable throwable) {
+      throw new IllegalStateException("Could not create wrapper for " + sneaky, throwable);
+    }
+  }
+
+  private MethodHandle createConstructor() {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    Class<?> wrapperClass;
+    try {
+      wrapperClass = DEFINER.define(lookup, templateBytes());
+    } catch (Throwable throwable) {
+      wrapperClass = template;
+    }
+    try {
+      return lookup.findConstructor(wrapperClass, constructorType);
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new IllegalStateException("Could not create wrapper for " + template, e);
+    }
+  }
+
+  private byte[] templateBytes() throws IOException {
+    byte[] current = bytes;
+    if (current == null) {
+      String name = template.getName();
+      try (InputStream in =
+          template.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+        if (in == null) {
+          throw new IOException("Class file of " + name + " not found");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+          out.write(buffer, 0, read);
+        }
+        current = out.toByteArray();
+      }
+      bytes = current;
+    }
+    return current;
+  }
+
+  private static Definer createDefiner() {
+    try {
+      Class<?> optionType = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+      Object options = Array.newInstance(optionType, 0);
+      MethodHandle defineHiddenClass =
+          MethodHandles.publicLookup()
+              .unreflect(
+                  MethodHandles.Lookup.class.getMethod(
+                      "defineHiddenClass", byte[].class, boolean.class, options.getClass()))
+              .asFixedArity();
+      return (lookup, bytes) ->
+          ((MethodHandles.Lookup) defineHiddenClass.invoke(lookup, bytes, false, options))
+              .lookupClass();
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Java 8 to 14
+    }
+    try {
+      Class<?> unsafeType = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeType.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+      Method defineAnonymousClass =
+          unsafeType.getMethod("defineAnonymousClass", Class.class, byte[].class, Object[].class);
+      return (lookup, bytes) ->
+          (Class<?>) defineAnonymousClass.invoke(unsafe, lookup.lookupClass(), bytes, null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return (lookup, bytes) -> {
+        throw new UnsupportedOperationException("Cannot define wrapper classes");
+      };
+    }
+  }
+
+  /** Defines a class from the bytes of a template in the package of the lookup. */
+  @FunctionalInterface
+  private interface Definer {
+    Class<?> define(MethodHandles.Lookup lookup, byte[] bytes) throws Throwable;
+  }
+
+  static final class BiConsumerWrapper implements BiConsumer<Object, Object> {
+    private final SneakyBiConsumer<Object, Object, ?> biConsumer;
+
+    BiConsumerWrapper(SneakyBiConsumer<Object, Object, ?> biConsumer) {
+      this.biConsumer = biConsumer;
+    }
+
+    @Override
+    public void accept(Object t, Object u) {
+      try {
+        biConsumer.accept(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiConsumer");
+      }
+    }
+  }
+
+  static final class BiFunctionWrapper implements BiFunction<Object, Object, Object> {
+    private final SneakyBiFunction<Object, Object, Object, ?> biFunction;
+
+    BiFunctionWrapper(SneakyBiFunction<Object, Object, Object, ?> biFunction) {
+      this.biFunction = biFunction;
+    }
+
+    @Override
+    public Object apply(Object t, Object u) {
+      try {
+        return biFunction.apply(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiFunction");
+      }
+    }
+  }
+
+  static final class BinaryOperatorWrapper implements BinaryOperator<Object> {
+    private final SneakyBinaryOperator<Object, ?> binaryOperator;
+
+    BinaryOperatorWrapper(SneakyBinaryOperator<Object, ?> binaryOperator) {
+      this.binaryOperator = binaryOperator;
+    }
+
+    @Override
+    public Object apply(Object t, Object u) {
+      try {
+        return binaryOperator.apply(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BinaryOperator");
+      }
+    }
+  }
+
+  static final class BiPredicateWrapper implements BiPredicate<Object, Object> {
+    private final SneakyBiPredicate<Object, Object, ?> biPredicate;
+
+    BiPredicateWrapper(SneakyBiPredicate<Object, Object, ?> biPredicate) {
+      this.biPredicate = biPredicate;
+    }
+
+    @Override
+    public boolean test(Object t, Object u) {
+      try {
+        return biPredicate.test(t, u);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "BiPredicate");
+      }
+    }
+  }
+
+  static final class ConsumerWrapper implements Consumer<Object> {
+    private final SneakyConsumer<Object, ?> consumer;
+
+    ConsumerWrapper(SneakyConsumer<Object, ?> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(Object t) {
+      try {
+        consumer.accept(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Consumer");
+      }
+    }
+  }
+
+  static final class FunctionWrapper implements Function<Object, Object> {
+    private final SneakyFunction<Object, Object, ?> function;
+
+    FunctionWrapper(SneakyFunction<Object, Object, ?> function) {
+      this.function = function;
+    }
+
+    @Override
+    public Object apply(Object t) {
+      try {
+        return function.apply(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Function");
+      }
+    }
+  }
+
+  static final class PredicateWrapper implements Predicate<Object> {
+    private final SneakyPredicate<Object, ?> predicate;
+
+    PredicateWrapper(SneakyPredicate<Object, ?> predicate) {
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean test(Object t) {
+      try {
+        return predicate.test(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Predicate");
+      }
+    }
+  }
+
+  static final class RunnableWrapper implements Runnable {
+    private final SneakyRunnable<?> runnable;
+
+    RunnableWrapper(SneakyRunnable<?> runnable) {
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      try {
+        runnable.run();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Runnable");
+      }
+    }
+  }
+
+  static final class SupplierWrapper implements Supplier<Object> {
+    private final SneakySupplier<Object, ?> supplier;
+
+    SupplierWrapper(SneakySupplier<Object, ?> supplier) {
+      this.supplier = supplier;
+    }
+
+    @Override
+    public Object get() {
+      try {
+        return supplier.get();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "Supplier");
+      }
+    }
+  }
+
+  static final class UnaryOperatorWrapper implements UnaryOperator<Object> {
+    private final SneakyUnaryOperator<Object, ?> unaryOperator;
+
+    UnaryOperatorWrapper(SneakyUnaryOperator<Object, ?> unaryOperator) {
+      this.unaryOperator = unaryOperator;
+    }
+
+    @Override
+    public Object apply(Object t) {
+      try {
+        return unaryOperator.apply(t);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw SneakyEvents.thrown(e, "UnaryOperator");
+      }
+    }
+  }
+}
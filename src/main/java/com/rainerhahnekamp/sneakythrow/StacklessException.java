@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+/**
+ * Checked exception without stack trace.
+ *
+ * <p>Filling in the stack trace is the most expensive part of throwing an exception. Exceptions
+ * that are thrown frequently and caught close by, like validation or parse errors, can extend this
+ * class to skip it:
+ *
+ * <pre>
+ *     public class InvalidPortException extends StacklessException {
+ *         public InvalidPortException(String port) {
+ *             super("invalid port: " + port);
+ *         }
+ *     }
+ * </pre>
+ *
+ * <p>The stack trace has to be skipped when the exception is created, so it is up to the code that
+ * throws it. {@link Sneaky}'s wrappers only see an exception after it has been created.
+ */
+public class StacklessException extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  public StacklessException() {
+    this(null, null);
+  }
+
+  public StacklessException(String message) {
+    this(message, null);
+  }
+
+  public StacklessException(String message, Throwable cause) {
+    super(message, cause, true, false);
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakyThrow;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs a lambda on the calling thread and interrupts that thread if the lambda does not finish in
+ * time. The timeout is scheduled on the shared {@link WheelTimer}.
+ *
+ * <p>If the timeout expired, the interrupt is cleared again after the lambda finished and a {@link
+ * TimeoutException} is thrown, even if the lambda returned a value. An exception thrown by the
+ * lambda is added to it as suppressed exception. If the thread was already interrupted before the
+ * call, it stays interrupted.
+ *
+ * <p>Like any interrupt, the timeout closes a {@link java.nio.channels.InterruptibleChannel} that
+ * the lambda is blocked in or uses afterwards, so the lambda should not time out on a channel that
+ * is reused.
+ */
+final class TimedCall extends WheelTimer.Timeout {
+  private final Thread thread = Thread.currentThread();
+  private volatile boolean interrupted;
+
+  private TimedCall() {}
+
+  static <T, R> R apply(SneakyFunction<T, R, ?> function, T t, long timeoutNanos) {
+    boolean wasInterrupted = Thread.currentThread().isInterrupted();
+    TimedCall call = new TimedCall();
+    WheelTimer.SHARED.schedule(call, timeoutNanos);
+    R result;
+    try {
+      result = function.apply(t);
+    } catch (Throwable throwable) {
+      if (call.cancel()) {
+        throw sneakyThrow(throwable);
+      }
+      TimeoutException timeout = call.timedOut(timeoutNanos, wasInterrupted);
+      timeout.addSuppressed(throwable);
+      throw sneakyThrow(timeout);
+    }
+    if (call.cancel()) {
+      return result;
+    }
+    throw sneakyThrow(call.timedOut(timeoutNanos, wasInterrupted));
+  }
+
+  @Override
+  void expire() {
+    synchronized (this) {
+      thread.interrupt();
+      interrupted = true;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Waits until {@link #expire()} has interrupted the thread, since the timeout can no longer be
+   * cancelled, and clears that interrupt. An interrupt that does not come from the timeout is
+   * restored.
+   */
+  private TimeoutException timedOut(long timeoutNanos, boolean wasInterrupted) {
+    boolean restore = wasInterrupted;
+    synchronized (this) {
+      while (!interrupted) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          restore |= !interrupted;
+        }
+      }
+    }
+    Thread.interrupted();
+    if (restore) {
+      thread.interrupt();
+    }
+    return new TimeoutException("Timed out after " + Duration.ofNanos(timeoutNanos));
+  }
+}
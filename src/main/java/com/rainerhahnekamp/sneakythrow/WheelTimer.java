@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed wheel timer for large numbers of short timeouts that are usually cancelled, as described
+ * by Varghese and Lauck.
+ *
+ * <p>Scheduling pushes the timeout on a lock-free stack and cancelling is a single compare-and-set,
+ * so neither allocates more than the timeout itself nor takes a lock. One daemon thread moves new
+ * timeouts into the buckets of the wheel once per tick, drops cancelled ones and expires those that
+ * are due. Timeouts expire up to one tick late. The thread parks while there are no timeouts.
+ */
+final class WheelTimer {
+  static final WheelTimer SHARED = new WheelTimer(TimeUnit.MILLISECONDS.toNanos(1), 512);
+
+  private final long tickNanos;
+  private final int mask;
+  private final Timeout[] buckets;
+  private final AtomicReference<Timeout> added = new AtomicReference<>();
+  private final Thread worker;
+  private volatile boolean sleeping;
+  private long startTime;
+  private long tick;
+  private int count;
+
+  WheelTimer(long tickNanos, int wheelSize) {
+    if (Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+    }
+    this.tickNanos = tickNanos;
+    this.mask = wheelSize - 1;
+    this.buckets = new Timeout[wheelSize];
+    this.worker = SneakyExecutors.daemonThreads("sneaky-wheel-timer").newThread(this::run);
+    this.worker.start();
+  }
+
+  /**
+   * Expires {@code timeout} after {@code delayNanos}, unless it is cancelled before.
+   *
+   * @param timeout an unused timeout
+   * @param delayNanos delay in nanoseconds
+   */
+  void schedule(Timeout timeout, long delayNanos) {
+    timeout.deadline = System.nanoTime() + delayNanos;
+    Timeout head;
+    do {
+      head = added.get();
+      timeout.next = head;
+    } while (!added.compareAndSet(head, timeout));
+    if (sleeping) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  private void run() {
+    startTime = System.nanoTime();
+    while (true) {
+      if (count == 0 && added.get() == null) {
+        sleeping = true;
+        if (added.get() == null) {
+          LockSupport.park(this);
+        }
+        sleeping = false;
+        tick = (System.nanoTime() - startTime) / tickNanos;
+      }
+      long sleep = startTime + (tick + 1) * tickNanos - System.nanoTime();
+      if (sleep > 0) {
+        LockSupport.parkNanos(this, sleep);
+        continue;
+      }
+      transferAdded();
+      expire((int) tick & mask);
+      tick++;
+    }
+  }
+
+  private void transferAdded() {
+    Timeout timeout = added.getAndSet(null);
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.state == Timeout.PENDING) {
+        long due = Math.max(tick, (timeout.deadline - startTime) / tickNanos);
+        timeout.rounds = (due - tick) >> Integer.numberOfTrailingZeros(buckets.length);
+        int bucket = (int) due & mask;
+        timeout.next = buckets[bucket];
+        buckets[bucket] = timeout;
+        count++;
+      }
+      timeout = next;
+    }
+  }
+
+  private void expire(int bucket) {
+    Timeout previous = null;
+    Timeout timeout = buckets[bucket];
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      boolean remove = timeout.state != Timeout.PENDING || timeout.rounds <= 0;
+      if (remove) {
+        if (previous == null) {
+          buckets[bucket] = next;
+        } else {
+          previous.next = next;
+        }
+        timeout.next = null;
+        count--;
+        if (timeout.tryExpire()) {
+          try {
+            timeout.expire();
+          } catch (Throwable ignored) {
+            // an expiring task must not stop the timer
+          }
+        }
+      } else {
+        timeout.rounds--;
+        previous = timeout;
+      }
+      timeout = next;
+    }
+  }
+
+  /** A timeout that can be scheduled once. Subclasses define what happens when it expires. */
+  abstract static class Timeout {
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private volatile int state;
+    private long deadline;
+    private long rounds;
+    private Timeout next;
+
+    /**
+     * Cancels this timeout.
+     *
+     * @return false if it has already expired
+     */
+    boolean cancel() {
+      return STATE.compareAndSet(this, PENDING, CANCELLED);
+    }
+
+    private boolean tryExpire() {
+      return STATE.compareAndSet(this, PENDING, EXPIRED);
+    }
+
+    /** Runs on the timer thread and must not block. */
+    abstract void expire();
+  }
+}
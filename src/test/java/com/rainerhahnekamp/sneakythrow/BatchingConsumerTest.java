@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.batchingConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchingConsumerTest {
+  private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+  private final Queue<Runnable> timers = new ArrayDeque<>();
+
+  private BatchingConsumer<Integer> batching(SneakyConsumer<List<Integer>, IOException> consumer) {
+    return new BatchingConsumer<>(consumer, 3, 1, Runnable::run, (task, delay) -> timers.add(task));
+  }
+
+  @Test
+  public void withoutException() {
+    BatchingConsumer<Integer> consumer = batching(batches::add);
+    for (int i = 1; i <= 7; i++) {
+      consumer.accept(i);
+    }
+    assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6)), batches);
+
+    consumer.close();
+    assertEquals(Arrays.asList(7), batches.get(2));
+    assertThrows(IllegalStateException.class, () -> consumer.accept(8));
+  }
+
+  @Test
+  public void flushesAfterMaxDelay() {
+    BatchingConsumer<Integer> consumer = batching(batches::add);
+
+    consumer.accept(1);
+    consumer.accept(2);
+    assertEquals(1, timers.size());
+    timers.poll().run();
+
+    assertEquals(Arrays.asList(Arrays.asList(1, 2)), batches);
+    assertEquals(0, timers.size());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    BatchingConsumer<Integer> consumer =
+        batching(
+            batch -> {
+              throw exception;
+            });
+
+    consumer.accept(1);
+    timers.poll().run();
+    assertSame(exception, assertThrows(IOException.class, () -> consumer.accept(2)));
+
+    consumer.accept(3);
+    consumer.accept(4);
+    assertSame(exception, assertThrows(IOException.class, () -> consumer.accept(5)));
+
+    consumer.accept(6);
+    assertSame(exception, assertThrows(IOException.class, consumer::close));
+  }
+
+  @Test
+  public void closeWaitsForDelayedFlush() throws InterruptedException {
+    IOException exception = new IOException();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    BatchingConsumer<Integer> consumer =
+        new BatchingConsumer<>(
+            (List<Integer> batch) -> {
+              started.countDown();
+              release.await();
+              throw exception;
+            },
+            3,
+            1,
+            Runnable::run,
+            (task, delay) -> timers.add(task));
+
+    consumer.accept(1);
+    new Thread(timers.poll()).start();
+    started.await();
+    release.countDown();
+
+    assertSame(exception, assertThrows(IOException.class, consumer::close));
+  }
+
+  @Test
+  public void rejectedDelayedFlush() {
+    RejectedExecutionException exception = new RejectedExecutionException();
+    BatchingConsumer<Integer> consumer =
+        new BatchingConsumer<>(
+            batches::add,
+            3,
+            1,
+            task -> {
+              throw exception;
+            },
+            (task, delay) -> timers.add(task));
+
+    consumer.accept(1);
+    timers.poll().run();
+    assertSame(exception, assertThrows(RejectedExecutionException.class, () -> consumer.accept(2)));
+
+    consumer.accept(3);
+    assertEquals(1, timers.size());
+  }
+
+  @Test
+  public void sharedTimer() throws InterruptedException {
+    CountDownLatch flushed = new CountDownLatch(1);
+    BatchingConsumer<Integer> consumer =
+        batchingConsumer(
+            (List<Integer> batch) -> {
+              batches.add(batch);
+              flushed.countDown();
+            },
+            100,
+            Duration.ofMillis(1));
+
+    consumer.accept(1);
+
+    assertTrue(flushed.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(Arrays.asList(1)), batches);
+  }
+}
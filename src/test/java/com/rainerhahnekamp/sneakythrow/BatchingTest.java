@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.batching;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.batchingAsync;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.invokeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchingTest {
+  private final List<Set<Integer>> batches = new CopyOnWriteArrayList<>();
+  private final SneakyFunction<Set<Integer>, Map<Integer, String>, SQLException> bulk =
+      keys -> {
+        batches.add(new LinkedHashSet<>(keys));
+        Map<Integer, String> values = new HashMap<>();
+        for (Integer key : keys) {
+          if (key >= 0) {
+            values.put(key, Integer.toString(key));
+          }
+        }
+        return values;
+      };
+
+  @Test
+  public void withoutException() {
+    Function<Integer, String> function =
+        batching(bulk, BatchSpec.maxSize(3).maxWait(Duration.ofSeconds(10)));
+    SneakySupplier<String, SQLException> one = () -> function.apply(1);
+    SneakySupplier<String, SQLException> two = () -> function.apply(2);
+    SneakySupplier<String, SQLException> three = () -> function.apply(3);
+
+    assertEquals(Arrays.asList("1", "2", "3"), invokeAll(Arrays.asList(one, two, three)));
+    assertEquals(1, batches.size());
+    assertEquals(3, batches.get(0).size());
+  }
+
+  @Test
+  public void withException() {
+    SQLException exception = new SQLException();
+    Function<Integer, SneakyFuture<String>> function =
+        batchingAsync(
+            (Set<Integer> keys) -> {
+              throw exception;
+            },
+            BatchSpec.maxSize(2).executor(Runnable::run));
+
+    SneakyFuture<String> first = function.apply(1);
+    SneakyFuture<String> second = function.apply(2);
+
+    assertSame(exception, assertThrows(SQLException.class, first::join));
+    assertSame(exception, assertThrows(SQLException.class, second::join));
+  }
+
+  @Test
+  public void flushesAfterMaxWait() {
+    Function<Integer, String> function =
+        batching(bulk, BatchSpec.maxSize(100).maxWait(Duration.ofMillis(1)));
+
+    assertEquals("1", function.apply(1));
+    assertNull(function.apply(-1));
+    assertEquals(2, batches.size());
+  }
+
+  @Test
+  public void rejectedBatch() {
+    RejectedExecutionException exception = new RejectedExecutionException();
+    Function<Integer, String> function =
+        batching(
+            bulk,
+            BatchSpec.maxSize(100)
+                .maxWait(Duration.ofMillis(1))
+                .executor(
+                    task -> {
+                      throw exception;
+                    }));
+
+    assertSame(exception, assertThrows(RejectedExecutionException.class, () -> function.apply(1)));
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test
+  public void interruptedWhileWaiting() {
+    Function<Integer, String> function =
+        batching(bulk, BatchSpec.maxSize(100).maxWait(Duration.ofSeconds(10)));
+
+    Thread.currentThread().interrupt();
+    assertThrows(InterruptedException.class, () -> function.apply(1));
+    assertTrue(Thread.interrupted());
+  }
+
+  @Test
+  public void deduplicatesKeys() {
+    Function<Integer, SneakyFuture<String>> function =
+        batchingAsync(
+            bulk, BatchSpec.maxSize(2).maxWait(Duration.ofSeconds(10)).executor(Runnable::run));
+
+    SneakyFuture<String> first = function.apply(1);
+    SneakyFuture<String> duplicate = function.apply(1);
+    SneakyFuture<String> second = function.apply(2);
+
+    assertEquals("1", first.join());
+    assertEquals("1", duplicate.join());
+    assertEquals("2", second.join());
+    assertEquals(1, batches.size());
+    assertEquals(new LinkedHashSet<>(Arrays.asList(1, 2)), batches.get(0));
+  }
+
+  @Test
+  public void timerOfFullBatch() {
+    Queue<Runnable> timers = new ArrayDeque<>();
+    BatchingFunction<Integer, String> function =
+        new BatchingFunction<>(
+            bulk,
+            BatchSpec.maxSize(2).maxWait(Duration.ofSeconds(10)).executor(Runnable::run),
+            (task, delay) -> timers.add(task));
+
+    function.applyAsync(1);
+    function.applyAsync(2);
+    SneakyFuture<String> pending = function.applyAsync(3);
+    timers.poll().run();
+
+    assertEquals(1, batches.size());
+    assertFalse(pending.isDone());
+
+    timers.poll().run();
+    assertEquals("3", pending.join());
+    assertEquals(2, batches.size());
+  }
+}
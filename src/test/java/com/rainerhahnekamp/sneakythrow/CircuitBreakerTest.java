@@ -0,0 +1,177 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.breaker;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+  private static final Duration OPEN_FOR = Duration.ofSeconds(5);
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicLong time = new AtomicLong();
+  private final Queue<Runnable> rotations = new ArrayDeque<>();
+  private final CircuitBreaker breaker =
+      new CircuitBreaker(
+          BreakerPolicy.failureRate(0.5).minimumCalls(4).openFor(OPEN_FOR),
+          (task, delayNanos) -> rotations.add(task),
+          time::get);
+  private final Function<Boolean, Integer> function =
+      breaker(
+          (Boolean fail) -> {
+            int call = calls.incrementAndGet();
+            if (fail) {
+              throw new IOException();
+            }
+            return call;
+          },
+          breaker);
+
+  @Test
+  public void withoutException() {
+    assertEquals(1, (int) function.apply(false));
+    assertEquals(2, (int) function.apply(false));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void withException() {
+    trip();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+    assertThrows(CircuitOpenException.class, () -> function.apply(false));
+    assertEquals(4, calls.get());
+  }
+
+  @Test
+  public void closesAfterSuccessfulProbe() {
+    trip();
+    time.addAndGet(OPEN_FOR.toNanos());
+
+    assertEquals(5, (int) function.apply(false));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void reopensAfterFailedProbe() {
+    trip();
+    time.addAndGet(OPEN_FOR.toNanos());
+
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertThrows(CircuitOpenException.class, () -> function.apply(false));
+    assertEquals(5, calls.get());
+  }
+
+  @Test
+  public void reopensAfterProbeWithError() {
+    Supplier<String> failing =
+        breaker(
+            () -> {
+              throw new AssertionError();
+            },
+            breaker);
+    trip();
+    time.addAndGet(OPEN_FOR.toNanos());
+
+    assertThrows(AssertionError.class, failing::get);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    time.addAndGet(OPEN_FOR.toNanos());
+    assertEquals(5, (int) function.apply(false));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+
+  @Test
+  public void forgetsCallsOutsideOfWindow() {
+    function.apply(false);
+    function.apply(false);
+    assertThrows(IOException.class, () -> function.apply(true));
+    for (int i = 0; i < CircuitBreaker.BUCKETS; i++) {
+      rotations.poll().run();
+    }
+
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+  }
+
+  @Test
+  public void sharedByWrappers() {
+    IOException exception = new IOException();
+    SneakySupplier<String, IOException> supplier =
+        () -> {
+          throw exception;
+        };
+    SneakyConsumer<String, IOException> consumer =
+        value -> {
+          throw exception;
+        };
+    SneakyRunnable<IOException> runnable =
+        () -> {
+          throw exception;
+        };
+    Supplier<String> breakingSupplier = breaker(supplier, breaker);
+    Consumer<String> breakingConsumer = breaker(consumer, breaker);
+    Runnable breakingRunnable = breaker(runnable, breaker);
+
+    assertSame(exception, assertThrows(IOException.class, breakingSupplier::get));
+    assertSame(exception, assertThrows(IOException.class, () -> breakingConsumer.accept("foo")));
+    assertSame(exception, assertThrows(IOException.class, breakingRunnable::run));
+    assertSame(exception, assertThrows(IOException.class, breakingRunnable::run));
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertThrows(CircuitOpenException.class, breakingSupplier::get);
+  }
+
+  private void trip() {
+    function.apply(false);
+    function.apply(false);
+    assertThrows(IOException.class, () -> function.apply(true));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertThrows(IOException.class, () -> function.apply(true));
+  }
+}
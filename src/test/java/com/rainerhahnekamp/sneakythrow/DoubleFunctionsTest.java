@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleBinaryOperator;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoublePredicate;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleSupplier;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleToIntFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleToLongFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedDoubleUnaryOperator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+public class DoubleFunctionsTest {
+  @Test
+  public void withoutException() {
+    List<Double> list = new ArrayList<>();
+
+    assertEquals(
+        2.0, sneakedDoubleBinaryOperator((double a, double b) -> a + b).applyAsDouble(1.0, 1.0));
+    sneakedDoubleConsumer(
+            (double a) -> {
+              list.add(a);
+            })
+        .accept(1.0);
+    assertEquals("1.0", sneakedDoubleFunction((double a) -> String.valueOf(a)).apply(1.0));
+    assertTrue(sneakedDoublePredicate((double a) -> a > 0).test(1.0));
+    assertFalse(sneakedDoublePredicate((double a) -> a < 0).test(1.0));
+    assertEquals(1.0, sneakedDoubleSupplier(() -> 1.0).getAsDouble());
+    assertEquals(1.0, sneakedDoubleUnaryOperator((double a) -> a).applyAsDouble(1.0));
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  public void conversions() {
+    assertEquals(1, sneakedDoubleToIntFunction((double a) -> (int) a).applyAsInt(1.0));
+    assertEquals(1L, sneakedDoubleToLongFunction((double a) -> (long) a).applyAsLong(1.0));
+  }
+
+  @Test
+  public void withException() {
+    DoubleUnaryOperator operator = sneakedDoubleUnaryOperator(this::exceptionOn1);
+
+    assertEquals(2.0, operator.applyAsDouble(2.0));
+    assertThrows(IOException.class, () -> operator.applyAsDouble(1.0));
+  }
+
+  private double exceptionOn1(double a) throws IOException {
+    if (a == 1) {
+      throw new IOException("not working");
+    }
+    return a;
+  }
+}
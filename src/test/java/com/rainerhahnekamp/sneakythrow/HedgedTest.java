@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.hedged;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class HedgedTest {
+  private final AtomicInteger calls = new AtomicInteger();
+  private final HedgePolicy policy =
+      HedgePolicy.percentile(0.95).minDelay(Duration.ofMillis(10)).maxDelay(Duration.ofMillis(10));
+
+  @Test
+  public void withoutException() {
+    Supplier<Integer> supplier = hedged(calls::incrementAndGet, policy);
+
+    assertEquals(1, (int) supplier.get());
+    assertEquals(2, (int) supplier.get());
+  }
+
+  @Test
+  public void withException() {
+    IOException first = new IOException("first");
+    IOException second = new IOException("second");
+    Supplier<String> supplier =
+        hedged(
+            () -> {
+              throw calls.incrementAndGet() == 1 ? first : second;
+            },
+            policy);
+
+    assertSame(first, assertThrows(IOException.class, supplier::get));
+    assertEquals(2, calls.get());
+    assertSame(second, first.getSuppressed()[0]);
+  }
+
+  @Test
+  public void hedgesSlowAttempt() throws InterruptedException {
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Supplier<String> replica =
+        hedged(
+            () -> {
+              if (calls.incrementAndGet() == 1) {
+                try {
+                  Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                  interrupted.countDown();
+                  throw e;
+                }
+                return "slow";
+              }
+              return "fast";
+            },
+            policy);
+
+    assertEquals("fast", replica.get());
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void retriesFailedAttemptImmediately() {
+    Supplier<String> supplier =
+        hedged(
+            () -> {
+              if (calls.incrementAndGet() == 1) {
+                throw new IOException();
+              }
+              return "foo";
+            },
+            policy.maxDelay(Duration.ofSeconds(10)).minDelay(Duration.ofSeconds(10)));
+
+    long start = System.nanoTime();
+    assertEquals("foo", supplier.get());
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  public void estimatesPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0, histogram.valueAt(0.8));
+
+    for (int i = 0; i < 64; i++) {
+      histogram.record(i % 10 == 0 ? 1_000_000 : 1_000);
+    }
+    long estimate = histogram.valueAt(0.8);
+    assertTrue(estimate >= 1_000 && estimate < 1_250, "estimate " + estimate);
+
+    for (int i = 0; i < 64; i++) {
+      histogram.record(1_000_000);
+    }
+    estimate = histogram.valueAt(0.8);
+    assertTrue(estimate >= 1_000_000 && estimate < 1_250_000, "estimate " + estimate);
+  }
+}
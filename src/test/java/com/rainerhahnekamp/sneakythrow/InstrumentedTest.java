@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.instrumented;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyPredicate;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.function.Function;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class InstrumentedTest {
+  private final SneakyFunction<String, Integer, NumberFormatException> parse = Integer::parseInt;
+
+  @AfterEach
+  public void enable() {
+    SneakyMetrics.setEnabled(true);
+  }
+
+  @Test
+  public void withoutException() {
+    Function<String, Integer> function = instrumented("without-exception", parse);
+
+    assertEquals(42, (int) function.apply("42"));
+    assertEquals(43, (int) function.apply("43"));
+
+    CallSnapshot snapshot = SneakyMetrics.snapshot("without-exception").get();
+    assertEquals(2, snapshot.getCalls());
+    assertEquals(0, snapshot.getFailures());
+    assertTrue(snapshot.getP50Nanos() > 0);
+    assertTrue(snapshot.getP999Nanos() >= snapshot.getP50Nanos());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    Function<Integer, String> function =
+        instrumented(
+            "with-exception",
+            (Integer value) -> {
+              if (value == 1) {
+                throw exception;
+              }
+              if (value == 2) {
+                throw new SQLException();
+              }
+              return "foo";
+            });
+
+    assertSame(exception, assertThrows(IOException.class, () -> function.apply(1)));
+    assertThrows(IOException.class, () -> function.apply(1));
+    assertThrows(SQLException.class, () -> function.apply(2));
+    assertEquals("foo", function.apply(3));
+
+    CallSnapshot snapshot = SneakyMetrics.snapshot("with-exception").get();
+    assertEquals(4, snapshot.getCalls());
+    assertEquals(3, snapshot.getFailures());
+    assertEquals(2, (long) snapshot.getFailuresByType().get(IOException.class.getName()));
+    assertEquals(1, (long) snapshot.getFailuresByType().get(SQLException.class.getName()));
+  }
+
+  @Test
+  public void disabled() {
+    Function<String, Integer> function = instrumented("disabled", parse);
+    SneakyMetrics.setEnabled(false);
+
+    assertEquals(42, (int) function.apply("42"));
+    assertEquals(0, SneakyMetrics.snapshot("disabled").get().getCalls());
+    assertFalse(SneakyMetrics.snapshot("unknown").isPresent());
+  }
+
+  @Test
+  public void allInterfaces() {
+    SneakyBiConsumer<String, String, Exception> biConsumer = (a, b) -> {};
+    SneakyBiFunction<String, String, String, Exception> biFunction = (a, b) -> a + b;
+    SneakyBinaryOperator<String, Exception> binaryOperator = (a, b) -> a + b;
+    SneakyBiPredicate<String, String, Exception> biPredicate = String::equals;
+    SneakyConsumer<String, Exception> consumer = a -> {};
+    SneakyPredicate<String, Exception> predicate = String::isEmpty;
+    SneakyRunnable<Exception> runnable = () -> {};
+    SneakySupplier<String, Exception> supplier = () -> "foo";
+    SneakyUnaryOperator<String, Exception> unaryOperator = String::trim;
+
+    instrumented("all", biConsumer).accept("a", "b");
+    assertEquals("ab", instrumented("all", biFunction).apply("a", "b"));
+    assertEquals("ab", instrumented("all", binaryOperator).apply("a", "b"));
+    assertTrue(instrumented("all", biPredicate).test("a", "a"));
+    instrumented("all", consumer).accept("a");
+    assertEquals(1, (int) instrumented("all", String::length).apply("a"));
+    assertFalse(instrumented("all", predicate).test("a"));
+    instrumented("all", runnable).run();
+    assertEquals("foo", instrumented("all", supplier).get());
+    assertEquals("a", instrumented("all", unaryOperator).apply(" a "));
+
+    assertEquals(10, SneakyMetrics.snapshot("all").get().getCalls());
+  }
+
+  @Test
+  public void mxBean() throws Exception {
+    instrumented("mx-bean", parse).apply("1");
+
+    Object snapshots =
+        ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(new ObjectName(SneakyMetrics.OBJECT_NAME), "Snapshots");
+    boolean found = false;
+    for (CompositeData snapshot : (CompositeData[]) snapshots) {
+      if ("mx-bean".equals(snapshot.get("name"))) {
+        assertEquals(1L, snapshot.get("calls"));
+        found = true;
+      }
+    }
+    assertTrue(found);
+  }
+}
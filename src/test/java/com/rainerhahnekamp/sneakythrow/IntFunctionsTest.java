@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntBinaryOperator;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntPredicate;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntSupplier;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntToLongFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntToDoubleFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntUnaryOperator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+public class IntFunctionsTest {
+  @Test
+  public void withoutException() {
+    List<Integer> list = new ArrayList<>();
+
+    assertEquals(2, sneakedIntBinaryOperator((int a, int b) -> a + b).applyAsInt(1, 1));
+    sneakedIntConsumer(
+            (int a) -> {
+              list.add(a);
+            })
+        .accept(1);
+    assertEquals("1", sneakedIntFunction((int a) -> String.valueOf(a)).apply(1));
+    assertTrue(sneakedIntPredicate((int a) -> a > 0).test(1));
+    assertFalse(sneakedIntPredicate((int a) -> a < 0).test(1));
+    assertEquals(1, sneakedIntSupplier(() -> 1).getAsInt());
+    assertEquals(1, sneakedIntUnaryOperator((int a) -> a).applyAsInt(1));
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  public void conversions() {
+    assertEquals(1L, sneakedIntToLongFunction((int a) -> (long) a).applyAsLong(1));
+    assertEquals(1.0, sneakedIntToDoubleFunction((int a) -> (double) a).applyAsDouble(1));
+  }
+
+  @Test
+  public void withException() {
+    IntUnaryOperator operator = sneakedIntUnaryOperator(this::exceptionOn1);
+
+    assertEquals(2, operator.applyAsInt(2));
+    assertThrows(IOException.class, () -> operator.applyAsInt(1));
+  }
+
+  private int exceptionOn1(int a) throws IOException {
+    if (a == 1) {
+      throw new IOException("not working");
+    }
+    return a;
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.lazy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class LazyTest {
+  private final AtomicInteger calls = new AtomicInteger();
+
+  @Test
+  public void withoutException() {
+    Supplier<String> supplier =
+        lazy(
+            () -> {
+              calls.incrementAndGet();
+              return "foo";
+            });
+
+    assertEquals(0, calls.get());
+    assertEquals("foo", supplier.get());
+    assertEquals("foo", supplier.get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    Supplier<String> supplier =
+        lazy(
+            () -> {
+              if (calls.incrementAndGet() == 1) {
+                throw exception;
+              }
+              return "foo";
+            });
+
+    assertSame(exception, assertThrows(IOException.class, supplier::get));
+    assertEquals("foo", supplier.get());
+    assertEquals("foo", supplier.get());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void nullValue() {
+    Supplier<String> supplier =
+        lazy(
+            () -> {
+              calls.incrementAndGet();
+              return null;
+            });
+
+    assertNull(supplier.get());
+    assertNull(supplier.get());
+    assertEquals(1, calls.get());
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.limited;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class LimitedTest {
+  private final AtomicLong time = new AtomicLong();
+
+  @Test
+  public void withoutException() {
+    Function<String, Integer> function = limited(String::length, LimitPolicy.initialLimit(1));
+
+    assertEquals(3, (int) function.apply("foo"));
+    assertEquals(3, (int) function.apply("bar"));
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    Function<String, Integer> function =
+        limited(
+            (String value) -> {
+              throw exception;
+            },
+            LimitPolicy.initialLimit(1));
+
+    assertSame(exception, assertThrows(IOException.class, () -> function.apply("foo")));
+    assertSame(exception, assertThrows(IOException.class, () -> function.apply("foo")));
+  }
+
+  @Test
+  public void rejectsAboveLimit() {
+    Function<Integer, Integer> function = limitedRecursion(LimitPolicy.initialLimit(2));
+
+    assertEquals(0, (int) function.apply(1));
+    assertThrows(LimitExceededException.class, () -> function.apply(2));
+  }
+
+  @Test
+  public void queuesAboveLimit() throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Function<Boolean, String> function =
+        limited(
+            (Boolean block) -> {
+              if (block) {
+                running.countDown();
+                release.await();
+              }
+              return "foo";
+            },
+            LimitPolicy.initialLimit(1).queue(1, Duration.ofSeconds(10)));
+
+    CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> function.apply(true));
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> function.apply(false));
+    assertFalse(queued.isDone());
+
+    release.countDown();
+    assertEquals("foo", first.get(5, TimeUnit.SECONDS));
+    assertEquals("foo", queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shrinksWhenLatencyRises() {
+    LimitedFunction<Long, Long> function = limitedLatency(LimitPolicy.initialLimit(100));
+
+    for (int i = 0; i < 100; i++) {
+      function.apply(1_000L);
+    }
+    assertEquals(100, function.limit());
+    for (int i = 0; i < 200; i++) {
+      function.apply(10_000L);
+    }
+    assertTrue(function.limit() < 10, "limit " + function.limit());
+  }
+
+  @Test
+  public void growsWhileLimitIsUsed() {
+    LimitedFunction<Integer, Integer> function =
+        limitedRecursion(LimitPolicy.initialLimit(4).latencyTolerance(10));
+
+    for (int i = 0; i < 200; i++) {
+      function.apply(2);
+    }
+    assertTrue(function.limit() > 4, "limit " + function.limit());
+  }
+
+  private LimitedFunction<Long, Long> limitedLatency(LimitPolicy policy) {
+    return new LimitedFunction<>(latency -> time.addAndGet(latency), policy, time::get);
+  }
+
+  private LimitedFunction<Integer, Integer> limitedRecursion(LimitPolicy policy) {
+    AtomicReference<Function<Integer, Integer>> self = new AtomicReference<>();
+    LimitedFunction<Integer, Integer> function =
+        new LimitedFunction<>(
+            depth -> {
+              if (depth == 0) {
+                time.addAndGet(1_000);
+                return 0;
+              }
+              return self.get().apply(depth - 1);
+            },
+            policy,
+            time::get);
+    self.set(function);
+    return function;
+  }
+}
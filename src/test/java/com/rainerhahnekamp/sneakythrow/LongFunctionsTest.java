@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongBinaryOperator;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongPredicate;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongSupplier;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongToIntFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongToDoubleFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedLongUnaryOperator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+public class LongFunctionsTest {
+  @Test
+  public void withoutException() {
+    List<Long> list = new ArrayList<>();
+
+    assertEquals(2L, sneakedLongBinaryOperator((long a, long b) -> a + b).applyAsLong(1L, 1L));
+    sneakedLongConsumer(
+            (long a) -> {
+              list.add(a);
+            })
+        .accept(1L);
+    assertEquals("1", sneakedLongFunction((long a) -> String.valueOf(a)).apply(1L));
+    assertTrue(sneakedLongPredicate((long a) -> a > 0).test(1L));
+    assertFalse(sneakedLongPredicate((long a) -> a < 0).test(1L));
+    assertEquals(1L, sneakedLongSupplier(() -> 1L).getAsLong());
+    assertEquals(1L, sneakedLongUnaryOperator((long a) -> a).applyAsLong(1L));
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  public void conversions() {
+    assertEquals(1, sneakedLongToIntFunction((long a) -> (int) a).applyAsInt(1L));
+    assertEquals(1.0, sneakedLongToDoubleFunction((long a) -> (double) a).applyAsDouble(1L));
+  }
+
+  @Test
+  public void withException() {
+    LongUnaryOperator operator = sneakedLongUnaryOperator(this::exceptionOn1);
+
+    assertEquals(2L, operator.applyAsLong(2L));
+    assertThrows(IOException.class, () -> operator.applyAsLong(1L));
+  }
+
+  private long exceptionOn1(long a) throws IOException {
+    if (a == 1) {
+      throw new IOException("not working");
+    }
+    return a;
+  }
+}
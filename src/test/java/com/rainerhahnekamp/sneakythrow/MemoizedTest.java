@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.memoized;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class MemoizedTest {
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicLong time = new AtomicLong();
+  private final IOException exception = new IOException();
+
+  private final SneakyFunction<Integer, String, IOException> toString =
+      i -> {
+        calls.incrementAndGet();
+        return Integer.toString(i);
+      };
+  private final SneakyFunction<Integer, String, IOException> failing =
+      i -> {
+        calls.incrementAndGet();
+        throw exception;
+      };
+
+  @Test
+  public void withoutException() {
+    Function<Integer, String> function = memoized(toString, CacheSpec.maximumSize(10));
+
+    assertEquals("1", function.apply(1));
+    assertEquals("1", function.apply(1));
+    assertEquals("2", function.apply(2));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void withException() {
+    Function<Integer, String> function = memoized(failing, CacheSpec.maximumSize(10));
+
+    assertSame(exception, assertThrows(IOException.class, () -> function.apply(1)));
+    assertSame(exception, assertThrows(IOException.class, () -> function.apply(1)));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void cachesFailuresFor() {
+    Function<Integer, String> function =
+        memoized(
+            failing,
+            CacheSpec.maximumSize(10).cacheFailuresFor(Duration.ofSeconds(1)).ticker(time::get));
+
+    assertThrows(IOException.class, () -> function.apply(1));
+    time.set(Duration.ofMillis(999).toNanos());
+    assertThrows(IOException.class, () -> function.apply(1));
+    assertEquals(1, calls.get());
+
+    time.set(Duration.ofSeconds(1).toNanos());
+    assertThrows(IOException.class, () -> function.apply(1));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void expiresAfterWrite() {
+    Function<Integer, String> function =
+        memoized(
+            toString,
+            CacheSpec.maximumSize(10).expireAfterWrite(Duration.ofSeconds(1)).ticker(time::get));
+
+    function.apply(1);
+    time.set(Duration.ofMillis(999).toNanos());
+    function.apply(1);
+    assertEquals(1, calls.get());
+
+    time.set(Duration.ofSeconds(1).toNanos());
+    function.apply(1);
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void evictsLeastFrequentlyUsed() {
+    MemoizingFunction<Integer, String> function =
+        new MemoizingFunction<>(toString, CacheSpec.maximumSize(10));
+
+    for (int i = 1; i <= 1000; i++) {
+      function.apply(0);
+      function.apply(0);
+      function.apply(0);
+      function.apply(i);
+    }
+
+    assertTrue(function.size() <= 10);
+    assertEquals(1001, calls.get());
+  }
+
+  @Test
+  public void loadsOncePerArgument() throws InterruptedException {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Function<Integer, String> function =
+        memoized(
+            (Integer i) -> {
+              calls.incrementAndGet();
+              loading.countDown();
+              release.await();
+              return Integer.toString(i);
+            },
+            CacheSpec.maximumSize(10));
+    AtomicReference<String> first = new AtomicReference<>();
+    Thread loader = new Thread(() -> first.set(function.apply(1)));
+
+    loader.start();
+    loading.await();
+    Thread waiter = new Thread(() -> assertEquals("1", function.apply(1)));
+    waiter.start();
+    release.countDown();
+    loader.join();
+    waiter.join();
+
+    assertEquals("1", first.get());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void loadsOnceWithoutAdmission() throws InterruptedException {
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Function<Integer, String> function =
+        memoized(
+            (Integer i) -> {
+              calls.incrementAndGet();
+              if (i == 1) {
+                loading.countDown();
+                release.await();
+              }
+              return Integer.toString(i);
+            },
+            CacheSpec.maximumSize(1));
+    function.apply(0);
+    function.apply(0);
+    function.apply(0);
+    Thread loader = new Thread(() -> function.apply(1));
+    Thread waiter = new Thread(() -> assertEquals("1", function.apply(1)));
+
+    loader.start();
+    loading.await();
+    waiter.start();
+    while (waiter.getState() != Thread.State.WAITING) {
+      Thread.sleep(1);
+    }
+    release.countDown();
+    loader.join();
+    waiter.join();
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void recursiveCall() {
+    AtomicReference<Function<Integer, String>> self = new AtomicReference<>();
+    self.set(memoized((Integer i) -> self.get().apply(i), CacheSpec.maximumSize(10)));
+
+    assertThrows(IllegalStateException.class, () -> self.get().apply(1));
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.parallelForEach;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.parallelMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class ParallelTest {
+  private final List<Integer> numbers =
+      IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+  @Test
+  public void withoutException() {
+    SneakyFunction<Integer, String, IOException> toString = i -> Integer.toString(i);
+    Set<Integer> visited = ConcurrentHashMap.newKeySet();
+    SneakyConsumer<Integer, IOException> visit = visited::add;
+
+    List<String> strings = parallelMap(numbers, toString, 10);
+    parallelForEach(new HashSet<>(numbers), visit);
+
+    assertEquals(
+        numbers.stream().map(i -> Integer.toString(i)).collect(Collectors.toList()), strings);
+    assertEquals(new HashSet<>(numbers), visited);
+    assertEquals(Collections.emptyList(), parallelMap(new ArrayList<>(), toString));
+    assertThrows(UnsupportedOperationException.class, () -> strings.add("foo"));
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    SneakyFunction<Integer, Integer, IOException> function =
+        i -> {
+          if (i == 500) {
+            throw exception;
+          }
+          return i;
+        };
+    SneakyConsumer<Integer, IOException> consumer = function::apply;
+
+    assertSame(exception, assertThrows(IOException.class, () -> parallelMap(numbers, function)));
+    assertSame(
+        exception, assertThrows(IOException.class, () -> parallelForEach(numbers, consumer, 1)));
+  }
+
+  @Test
+  public void stopsAfterFirstException() {
+    AtomicInteger processed = new AtomicInteger();
+    SneakyConsumer<Integer, Exception> consumer =
+        i -> {
+          processed.incrementAndGet();
+          if (i == 0) {
+            throw new IOException();
+          }
+          Thread.sleep(1);
+        };
+
+    assertThrows(IOException.class, () -> parallelForEach(numbers, consumer, 1));
+    assertTrue(processed.get() < numbers.size() / 2, processed + " elements processed");
+  }
+
+  @Test
+  public void addsConcurrentExceptionsAsSuppressed() {
+    CountDownLatch bothRunning = new CountDownLatch(2);
+    SneakyConsumer<Integer, Exception> consumer =
+        i -> {
+          bothRunning.countDown();
+          bothRunning.await(5, TimeUnit.SECONDS);
+          throw new IOException(Integer.toString(i));
+        };
+
+    IOException exception =
+        assertThrows(IOException.class, () -> parallelForEach(numbers.subList(0, 2), consumer, 1));
+
+    assertEquals(1, exception.getSuppressed().length);
+    assertTrue(exception.getSuppressed()[0] instanceof IOException);
+  }
+
+  @Test
+  public void invalidThreshold() {
+    SneakyFunction<Integer, Integer, IOException> identity = i -> i;
+
+    assertThrows(IllegalArgumentException.class, () -> parallelMap(numbers, identity, 0));
+  }
+}
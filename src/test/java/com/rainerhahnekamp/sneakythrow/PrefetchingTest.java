@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.prefetching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class PrefetchingTest {
+  private final AtomicInteger calls = new AtomicInteger();
+  private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+  private SneakySupplier<Optional<Integer>, IOException> values(int count) {
+    return () -> {
+      int value = calls.getAndIncrement();
+      return value < count ? Optional.of(value) : Optional.empty();
+    };
+  }
+
+  private Prefetcher<Integer> prefetcher(
+      SneakySupplier<Optional<Integer>, IOException> supplier, int depth) {
+    return new Prefetcher<>(supplier, depth, tasks::add);
+  }
+
+  @Test
+  public void withoutException() {
+    Prefetcher<Integer> prefetcher = prefetcher(values(3), 2);
+    assertEquals(0, calls.get());
+
+    tasks.poll().run();
+    assertEquals(2, calls.get());
+    assertEquals(0, (int) prefetcher.next());
+    assertEquals(1, tasks.size());
+
+    tasks.poll().run();
+    assertEquals(3, calls.get());
+    assertEquals(1, (int) prefetcher.get());
+    assertEquals(2, (int) prefetcher.next());
+    assertEquals(1, tasks.size());
+
+    tasks.poll().run();
+    assertFalse(prefetcher.hasNext());
+    assertThrows(NoSuchElementException.class, prefetcher::next);
+    assertEquals(0, tasks.size());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    Prefetcher<Integer> prefetcher =
+        prefetcher(
+            () -> {
+              if (calls.getAndIncrement() == 1) {
+                throw exception;
+              }
+              return Optional.of(calls.get());
+            },
+            4);
+
+    tasks.poll().run();
+    assertEquals(2, calls.get());
+    assertEquals(1, (int) prefetcher.next());
+    assertTrue(prefetcher.hasNext());
+    assertSame(exception, assertThrows(IOException.class, prefetcher::next));
+    assertFalse(prefetcher.hasNext());
+    assertEquals(0, tasks.size());
+  }
+
+  @Test
+  public void close() {
+    Prefetcher<Integer> prefetcher = prefetcher(values(10), 2);
+    tasks.poll().run();
+
+    try (SneakyStream<Integer> stream = prefetcher.stream()) {
+      assertEquals(0, (int) prefetcher.next());
+    }
+    assertFalse(prefetcher.hasNext());
+    tasks.poll().run();
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void concurrent() {
+    List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+    try (Prefetcher<Integer> prefetcher = prefetching(values(1000), 8)) {
+      assertEquals(expected, prefetcher.stream().map(value -> value).toList());
+    }
+  }
+
+  @Test
+  public void rejectedRestart() {
+    RejectedExecutionException rejection = new RejectedExecutionException();
+    AtomicInteger executions = new AtomicInteger();
+    Prefetcher<Integer> prefetcher =
+        new Prefetcher<>(
+            values(10),
+            2,
+            task -> {
+              if (executions.getAndIncrement() > 0) {
+                throw rejection;
+              }
+              tasks.add(task);
+            });
+    tasks.poll().run();
+
+    assertEquals(0, (int) prefetcher.next());
+    assertEquals(1, (int) prefetcher.next());
+    assertSame(rejection, assertThrows(RejectedExecutionException.class, prefetcher::next));
+    assertFalse(prefetcher.hasNext());
+  }
+
+  @Test
+  public void interrupted() {
+    Prefetcher<Integer> prefetcher = prefetcher(values(1), 1);
+
+    Thread.currentThread().interrupt();
+    assertThrows(InterruptedException.class, prefetcher::next);
+    assertTrue(Thread.interrupted());
+  }
+
+  @Test
+  public void invalid() {
+    assertThrows(IllegalArgumentException.class, () -> prefetcher(values(1), 0));
+    assertThrows(
+        RejectedExecutionException.class,
+        () ->
+            new Prefetcher<>(
+                values(1),
+                1,
+                task -> {
+                  throw new RejectedExecutionException();
+                }));
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class RefreshingTest {
+  private static final long INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+  private final AtomicInteger calls = new AtomicInteger();
+  private final Queue<Runnable> refreshes = new ArrayDeque<>();
+  private final Queue<Runnable> timers = new ArrayDeque<>();
+  private final Queue<Long> delays = new ArrayDeque<>();
+
+  private Supplier<Integer> refreshing(SneakySupplier<Integer, IOException> supplier) {
+    return new RefreshingSupplier<>(
+        supplier,
+        INTERVAL,
+        refreshes::add,
+        (task, delayNanos) -> {
+          timers.add(task);
+          delays.add(delayNanos);
+        });
+  }
+
+  @Test
+  public void withoutException() {
+    Supplier<Integer> supplier = refreshing(calls::incrementAndGet);
+
+    assertEquals(1, (int) supplier.get());
+    assertEquals(1, (int) supplier.get());
+    assertEquals(0, refreshes.size());
+    assertEquals(INTERVAL, (long) delays.poll());
+
+    timers.poll().run();
+    assertEquals(1, (int) supplier.get());
+    assertEquals(1, (int) supplier.get());
+    assertEquals(1, refreshes.size());
+
+    refreshes.poll().run();
+    assertEquals(2, (int) supplier.get());
+    assertEquals(INTERVAL, (long) delays.poll());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    Supplier<Integer> supplier =
+        refreshing(
+            () -> {
+              int call = calls.incrementAndGet();
+              if (call == 1 || call == 3) {
+                throw exception;
+              }
+              return call;
+            });
+
+    assertSame(exception, assertThrows(IOException.class, supplier::get));
+    assertEquals(0, timers.size());
+    assertEquals(2, (int) supplier.get());
+
+    timers.poll().run();
+    supplier.get();
+    Thread thread = Thread.currentThread();
+    Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+    List<Throwable> reported = new ArrayList<>();
+    thread.setUncaughtExceptionHandler((t, throwable) -> reported.add(throwable));
+    try {
+      refreshes.poll().run();
+    } finally {
+      thread.setUncaughtExceptionHandler(handler);
+    }
+    assertEquals(Arrays.asList(exception), reported);
+    assertEquals(2, (int) supplier.get());
+    assertEquals(0, refreshes.size());
+    delays.poll();
+    assertEquals(RefreshingSupplier.RETRY_NANOS, (long) delays.poll());
+
+    timers.poll().run();
+    supplier.get();
+    refreshes.poll().run();
+    assertEquals(4, (int) supplier.get());
+  }
+
+  @Test
+  public void withError() {
+    Supplier<Integer> supplier =
+        refreshing(
+            () -> {
+              if (calls.incrementAndGet() == 2) {
+                throw new AssertionError();
+              }
+              return calls.get();
+            });
+
+    assertEquals(1, (int) supplier.get());
+    timers.poll().run();
+    supplier.get();
+    assertThrows(AssertionError.class, refreshes.poll()::run);
+    delays.poll();
+    assertEquals(RefreshingSupplier.RETRY_NANOS, (long) delays.poll());
+
+    timers.poll().run();
+    supplier.get();
+    refreshes.poll().run();
+    assertEquals(3, (int) supplier.get());
+  }
+
+  @Test
+  public void rejectedRefresh() {
+    Supplier<Integer> supplier =
+        new RefreshingSupplier<>(
+            calls::incrementAndGet,
+            INTERVAL,
+            task -> {
+              throw new RejectedExecutionException();
+            },
+            (task, delayNanos) -> {
+              timers.add(task);
+              delays.add(delayNanos);
+            });
+
+    assertEquals(1, (int) supplier.get());
+    timers.poll().run();
+    assertEquals(1, (int) supplier.get());
+    delays.poll();
+    assertEquals(RefreshingSupplier.RETRY_NANOS, (long) delays.poll());
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attempt;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attemptDouble;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attemptInt;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attemptLong;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.attempting;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class ResultTest {
+  @Test
+  public void success() {
+    Result<URL> result = attempt(() -> new URL("https://www.hahnekamp.com"));
+
+    assertTrue(result.isSuccess());
+    assertFalse(result.isFailure());
+    assertEquals("https", result.get().getProtocol());
+    assertThrows(NoSuchElementException.class, result::getFailure);
+  }
+
+  @Test
+  public void failure() {
+    Result<URL> result = attempt(() -> new URL("hahnekamp"));
+
+    assertTrue(result.isFailure());
+    assertTrue(result.getFailure() instanceof MalformedURLException);
+    assertThrows(MalformedURLException.class, result::get);
+    assertEquals(null, result.orElse(null));
+  }
+
+  @Test
+  public void mapAndFlatMap() {
+    assertEquals(Result.success(3), Result.success("foo").map(String::length));
+    assertEquals(Result.success(5), Result.success("5").flatMap(s -> attempt(this::parsePort, s)));
+    assertTrue(Result.success("foo").map(this::parsePort).isFailure());
+
+    Result<String> failure = Result.failure(new ParseException("foo", 0));
+    assertSame(failure, failure.map(String::length));
+    assertSame(failure, failure.flatMap(Result::success));
+  }
+
+  @Test
+  public void recover() {
+    Result<Integer> failure = attempt(this::parsePort, "http");
+
+    assertEquals(Result.success(-1), failure.recover(e -> -1));
+    assertTrue(
+        failure
+                .recover(
+                    e -> {
+                      throw new IllegalStateException(e);
+                    })
+                .getFailure()
+            instanceof IllegalStateException);
+    assertEquals(Result.success(80), Result.success(80).recover(e -> -1));
+  }
+
+  @Test
+  public void attemptingInStream() {
+    List<Integer> ports =
+        Stream.of("80", "http", "443")
+            .map(attempting(this::parsePort))
+            .filter(Result::isSuccess)
+            .map(Result::get)
+            .collect(Collectors.toList());
+
+    assertEquals(2, ports.size());
+  }
+
+  @Test
+  public void primitives() {
+    assertEquals(80, attemptInt(() -> parsePort("80")).getAsInt());
+    assertEquals(-1, attemptInt(() -> parsePort("http")).orElse(-1));
+    assertEquals(80L, attemptLong(() -> parsePort("80")).getAsLong());
+    assertEquals(-1L, attemptLong(() -> parsePort("http")).recover(e -> -1L).getAsLong());
+    assertEquals(80.0, attemptDouble(() -> parsePort("80")).getAsDouble());
+    assertThrows(ParseException.class, () -> attemptDouble(() -> parsePort("http")).getAsDouble());
+    assertEquals(IntResult.success(1), IntResult.success(1));
+  }
+
+  @Test
+  public void mutableResult() {
+    MutableResult<Integer> holder = new MutableResult<>();
+
+    assertSame(holder, attempt(this::parsePort, "80", holder));
+    assertEquals(80, (int) holder.get());
+    assertEquals(Result.success(80), holder.toResult());
+
+    attempt(() -> parsePort("http"), holder);
+    assertTrue(holder.isFailure());
+    assertEquals(-1, (int) holder.orElse(-1));
+    assertThrows(ParseException.class, holder::get);
+  }
+
+  private int parsePort(String value) throws ParseException {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new ParseException(value, 0);
+    }
+  }
+}
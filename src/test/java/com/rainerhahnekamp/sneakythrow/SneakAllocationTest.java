@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneak;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SneakAllocationTest {
+  private static final int CALLS = 10_000_000;
+  /**
+   * One allocation per call would add up to at least 16 bytes per call. The tolerance does not
+   * depend on the number of calls and only leaves room for the few objects that the runtime itself
+   * allocates in the calling thread, like a late deoptimization.
+   */
+  private static final long TOLERANCE_BYTES = 4096;
+
+  private static final int MAX_WARM_UPS = 20;
+
+  private com.sun.management.ThreadMXBean threadMxBean;
+  private String value = "sneaky";
+  private String[] sink = new String[1];
+
+  @BeforeEach
+  public void setUp() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    threadMxBean = (com.sun.management.ThreadMXBean) bean;
+    Assumptions.assumeTrue(threadMxBean.isThreadAllocatedMemorySupported());
+    threadMxBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  public void supplier() {
+    SneakySupplier<String, Exception> supplier = () -> value;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sink[0] = sneak(supplier);
+          }
+        });
+  }
+
+  @Test
+  public void runnable() {
+    SneakyRunnable<Exception> runnable = () -> sink[0] = value;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sneak(runnable);
+          }
+        });
+  }
+
+  @Test
+  public void function() {
+    SneakyFunction<String, String, Exception> function = s -> s;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sink[0] = sneak(function, value);
+          }
+        });
+  }
+
+  @Test
+  public void biFunction() {
+    SneakyBiFunction<String, String, String, Exception> biFunction = (s, t) -> t;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sink[0] = sneak(biFunction, value, value);
+          }
+        });
+  }
+
+  @Test
+  public void consumer() {
+    SneakyConsumer<String, Exception> consumer = s -> sink[0] = s;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sneak(consumer, value);
+          }
+        });
+  }
+
+  @Test
+  public void biConsumer() {
+    SneakyBiConsumer<String, String, Exception> biConsumer = (s, t) -> sink[0] = t;
+    assertNoAllocation(
+        () -> {
+          for (int i = 0; i < CALLS; i++) {
+            sneak(biConsumer, value, value);
+          }
+        });
+  }
+
+  private void assertNoAllocation(Runnable calls) {
+    warmUp(calls);
+    long threadId = Thread.currentThread().getId();
+    long before = threadMxBean.getThreadAllocatedBytes(threadId);
+    calls.run();
+    long allocated = threadMxBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertTrue(
+        allocated < TOLERANCE_BYTES, () -> CALLS + " calls allocated " + allocated + " bytes");
+  }
+
+  /**
+   * Runs the calls until a whole run finishes without the JIT completing a compilation, at most
+   * {@link #MAX_WARM_UPS} times. Compilations and deoptimizations that still happen during the
+   * measurement allocate in the calling thread and would be counted as allocations of the calls.
+   */
+  private static void warmUp(Runnable calls) {
+    CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+    if (compiler == null || !compiler.isCompilationTimeMonitoringSupported()) {
+      calls.run();
+      return;
+    }
+    long compilationTime = -1;
+    for (int i = 0; i < MAX_WARM_UPS; i++) {
+      calls.run();
+      long current = compiler.getTotalCompilationTime();
+      if (current == compilationTime) {
+        return;
+      }
+      compilationTime = current;
+    }
+  }
+}
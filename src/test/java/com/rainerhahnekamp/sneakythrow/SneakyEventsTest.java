@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.instrumented;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedIntSupplier;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.specialized;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.translating;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+
+public class SneakyEventsTest {
+  private static final String EXCEPTION_THROWN =
+      "com.rainerhahnekamp.sneakythrow.SneakyExceptionThrown";
+  private static final String CALL = "com.rainerhahnekamp.sneakythrow.SneakyCall";
+
+  @Test
+  public void withoutException() throws IOException {
+    SneakyFunction<String, Integer, Exception> parse = Integer::parseInt;
+    Function<String, Integer> function = sneaked(parse);
+
+    List<RecordedEvent> events = record(EXCEPTION_THROWN, () -> function.apply("1"));
+
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void withException() throws IOException {
+    IOException exception = new IOException("unavailable");
+    SneakyFunction<String, Integer, IOException> read =
+        value -> {
+          throw exception;
+        };
+    Function<String, Integer> function = sneaked(read);
+    IntSupplier intSupplier =
+        sneakedIntSupplier(
+            () -> {
+              throw new InterruptedException();
+            });
+
+    List<RecordedEvent> events =
+        record(
+            EXCEPTION_THROWN,
+            () -> {
+              assertSame(exception, assertThrows(IOException.class, () -> function.apply("1")));
+              assertThrows(InterruptedException.class, intSupplier::getAsInt);
+            });
+
+    assertEquals(2, events.size());
+    assertEquals(IOException.class.getName(), exceptionClass(events.get(0), "exceptionClass"));
+    assertEquals("Function", events.get(0).getString("wrapperType"));
+    assertEquals(
+        InterruptedException.class.getName(), exceptionClass(events.get(1), "exceptionClass"));
+    assertEquals("IntSupplier", events.get(1).getString("wrapperType"));
+  }
+
+  @Test
+  public void runtimeException() throws IOException {
+    SneakyFunction<String, Integer, Exception> parse = Integer::parseInt;
+    Function<String, Integer> sneakedFunction = sneaked(parse);
+    Function<String, Integer> specializedFunction = specialized(parse);
+    Function<String, Integer> translatingFunction =
+        translating(ExceptionTranslator.of(IOException.class, UncheckedIOException::new), parse);
+
+    List<RecordedEvent> events =
+        record(
+            EXCEPTION_THROWN,
+            () -> {
+              assertThrows(NumberFormatException.class, () -> sneakedFunction.apply("x"));
+              assertThrows(NumberFormatException.class, () -> specializedFunction.apply("x"));
+              assertThrows(NumberFormatException.class, () -> translatingFunction.apply("x"));
+            });
+
+    assertTrue(events.isEmpty());
+  }
+
+  @Test
+  public void specializedAndTranslating() throws IOException {
+    SneakySupplier<String, IOException> read =
+        () -> {
+          throw new IOException();
+        };
+    Supplier<String> specializedSupplier = specialized(read);
+    Supplier<String> translatingSupplier =
+        translating(ExceptionTranslator.of(IOException.class, UncheckedIOException::new), read);
+
+    List<RecordedEvent> events =
+        record(
+            EXCEPTION_THROWN,
+            () -> {
+              assertThrows(IOException.class, specializedSupplier::get);
+              assertThrows(UncheckedIOException.class, translatingSupplier::get);
+            });
+
+    assertEquals(2, events.size());
+    for (RecordedEvent event : events) {
+      assertEquals(IOException.class.getName(), exceptionClass(event, "exceptionClass"));
+      assertEquals("Supplier", event.getString("wrapperType"));
+    }
+  }
+
+  @Test
+  public void notRecording() {
+    SneakyFunction<String, Integer, IOException> read =
+        value -> {
+          throw new IOException();
+        };
+
+    assertThrows(IOException.class, () -> sneaked(read).apply("1"));
+  }
+
+  @Test
+  public void sampledCalls() throws IOException {
+    SneakyFunction<String, Integer, Exception> parse = Integer::parseInt;
+    Function<String, Integer> function = instrumented("sampled-calls", parse);
+
+    List<RecordedEvent> events =
+        record(
+            CALL,
+            () -> {
+              for (int i = 0; i < 100 * SneakyEvents.CALL_SAMPLING; i++) {
+                function.apply("1");
+              }
+            });
+
+    assertTrue(events.size() > 0);
+    assertTrue(events.size() < 100 * SneakyEvents.CALL_SAMPLING / 2);
+    assertEquals("sampled-calls", events.get(0).getString("name"));
+    assertNull(events.get(0).getClass("failureClass"));
+  }
+
+  private static List<RecordedEvent> record(String eventName, Runnable runnable)
+      throws IOException {
+    Path file = Files.createTempFile("sneaky", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName).withoutThreshold();
+      recording.start();
+      runnable.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file)
+          .stream()
+          .filter(event -> event.getEventType().getName().equals(eventName))
+          .collect(Collectors.toList());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static String exceptionClass(RecordedEvent event, String field) {
+    RecordedClass recordedClass = event.getClass(field);
+    return recordedClass.getName();
+  }
+}
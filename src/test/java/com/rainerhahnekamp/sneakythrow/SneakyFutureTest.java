@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.async;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Test;
+
+public class SneakyFutureTest {
+  private final Executor direct = Runnable::run;
+
+  @Test
+  public void withoutException() {
+    SneakyFuture<String> future =
+        async(() -> new URL("https://www.hahnekamp.com"))
+            .thenApplySneaky(URL::getHost)
+            .thenComposeSneaky(host -> async(() -> host.toUpperCase(), direct))
+            .thenCombineSneaky(SneakyFuture.completed("!"), (String a, String b) -> a + b);
+
+    assertEquals("WWW.HAHNEKAMP.COM!", future.join());
+    assertTrue(future.isDone());
+    assertFalse(future.isFailure());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    SneakyFuture<String> future =
+        async(
+                () -> {
+                  if (exception != null) {
+                    throw exception;
+                  }
+                  return "foo";
+                },
+                direct)
+            .thenApplySneaky(String::trim)
+            .thenComposeSneaky(value -> SneakyFuture.completed(value))
+            .thenCombineSneaky(SneakyFuture.completed("!"), (String a, String b) -> a + b);
+
+    assertSame(exception, assertThrows(IOException.class, future::join));
+    assertTrue(future.isFailure());
+  }
+
+  @Test
+  public void exceptionInStage() {
+    IOException exception = new IOException();
+    SneakyFuture<Integer> future =
+        SneakyFuture.completed("foo")
+            .thenApplySneaky(
+                value -> {
+                  throw exception;
+                });
+
+    assertSame(exception, assertThrows(IOException.class, future::join));
+    assertSame(
+        exception,
+        assertThrows(CompletionException.class, () -> future.toCompletableFuture().join())
+            .getCause());
+  }
+
+  @Test
+  public void recover() {
+    SneakyFuture<String> failed = SneakyFuture.failed(new IOException("foo"));
+
+    assertEquals("foo", failed.recoverSneaky(Throwable::getMessage).join());
+    assertEquals("bar", SneakyFuture.completed("bar").recoverSneaky(e -> "baz").join());
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.stream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class SneakyIteratorTest {
+  @Test
+  public void withoutException() {
+    assertEquals(Arrays.asList(0, 1, 2), stream(new Rows(3)).toList());
+    assertEquals(Arrays.asList(0, 2), stream(supplier(3)).filter(i -> i % 2 == 0).toList());
+  }
+
+  @Test
+  public void withException() {
+    SQLException exception = new SQLException();
+    Rows rows = new Rows(10);
+    rows.failAt = 5;
+    rows.exception = exception;
+    List<Integer> visited = new ArrayList<>();
+
+    assertSame(
+        exception, assertThrows(SQLException.class, () -> stream(rows).forEach(visited::add)));
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), visited);
+  }
+
+  @Test
+  public void readOnce() {
+    SneakyStream<Integer> stream = stream(supplier(3));
+
+    assertEquals(3, stream.count());
+    assertThrows(IllegalStateException.class, stream::count);
+  }
+
+  @Test
+  public void onClose() {
+    List<String> closed = new ArrayList<>();
+    IOException first = new IOException();
+    IOException second = new IOException();
+
+    SneakyStream<Integer> stream =
+        stream(supplier(3))
+            .onClose(() -> closed.add("first"))
+            .map(i -> i + 1)
+            .onClose(
+                () -> {
+                  closed.add("second");
+                  throw first;
+                })
+            .onClose(
+                () -> {
+                  throw second;
+                });
+
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () -> {
+              try (SneakyStream<Integer> incremented = stream) {
+                assertEquals(Arrays.asList(1, 2, 3), incremented.toList());
+              }
+            });
+    stream.close();
+
+    assertSame(first, thrown);
+    assertArrayEquals(new Throwable[] {second}, thrown.getSuppressed());
+
+    assertEquals(Arrays.asList("first", "second"), closed);
+    assertThrows(IllegalStateException.class, () -> stream.onClose(() -> {}));
+  }
+
+  @Test
+  public void splitsInGrowingBatches() {
+    SneakySpliterator<Integer> spliterator = SneakySpliterator.of(supplier(5000));
+
+    Spliterator<Integer> first = spliterator.trySplit();
+    Spliterator<Integer> second = spliterator.trySplit();
+    Spliterator<Integer> third = spliterator.trySplit();
+
+    assertEquals(SneakySpliterator.BATCH_UNIT, first.estimateSize());
+    assertEquals(2 * SneakySpliterator.BATCH_UNIT, second.estimateSize());
+    assertEquals(5000 - 3 * SneakySpliterator.BATCH_UNIT, third.estimateSize());
+    assertTrue(third.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+    assertNull(spliterator.trySplit());
+    assertEquals(Long.MAX_VALUE, spliterator.estimateSize());
+  }
+
+  @Test
+  public void parallel() {
+    List<Integer> expected = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+
+    assertEquals(expected, stream(supplier(100_000)).parallel().toList());
+    assertEquals(
+        Optional.of(4999950000L),
+        stream(new Rows(100_000)).parallel().map(i -> (long) i).reduce(Long::sum));
+  }
+
+  @Test
+  public void parallelWithException() {
+    SQLException exception = new SQLException();
+    Rows rows = new Rows(100_000);
+    rows.failAt = 50_000;
+    rows.exception = exception;
+
+    assertSame(exception, assertThrows(SQLException.class, () -> stream(rows).parallel().count()));
+  }
+
+  @Test
+  public void nextWithoutElement() {
+    SneakySpliterator<Integer> spliterator = SneakySpliterator.of(supplier(0));
+
+    assertEquals(0, stream(supplier(0)).count());
+    assertFalse(spliterator.tryAdvance(i -> {}));
+    assertThrows(NoSuchElementException.class, () -> new Rows(0).next());
+  }
+
+  private static SneakySupplier<Optional<Integer>, IOException> supplier(int size) {
+    AtomicInteger next = new AtomicInteger();
+    return () -> {
+      int value = next.getAndIncrement();
+      return value < size ? Optional.of(value) : Optional.empty();
+    };
+  }
+
+  /** Stand-in for a ResultSet: {@link #hasNext()} advances and can fail. */
+  private static class Rows implements SneakyIterator<Integer, SQLException> {
+    private final int size;
+    private int row = -1;
+    private int failAt = -1;
+    private SQLException exception;
+
+    Rows(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public boolean hasNext() throws SQLException {
+      if (row + 1 == failAt) {
+        throw exception;
+      }
+      return row + 1 < size;
+    }
+
+    @Override
+    public Integer next() throws SQLException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return ++row;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.invokeAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakySupplier;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class SneakyScopeTest {
+  @Test
+  public void withoutException() {
+    try (SneakyScope scope = new SneakyScope()) {
+      Supplier<String> foo = scope.fork(() -> "foo");
+      Supplier<Integer> one = scope.fork(() -> 1);
+
+      scope.join();
+
+      assertEquals("foo", foo.get());
+      assertEquals(1, (int) one.get());
+    }
+  }
+
+  @Test
+  public void withException() throws InterruptedException {
+    IOException exception = new IOException();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch interrupted = new CountDownLatch(1);
+    SneakySupplier<String, Exception> slow =
+        () -> {
+          try {
+            started.countDown();
+            Thread.sleep(10_000);
+            return "slow";
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+          }
+        };
+    SneakySupplier<String, Exception> failing =
+        () -> {
+          assertTrue(started.await(5, TimeUnit.SECONDS));
+          throw exception;
+        };
+
+    assertSame(
+        exception, assertThrows(IOException.class, () -> invokeAll(Arrays.asList(slow, failing))));
+    assertEquals(0, interrupted.getCount());
+  }
+
+  @Test
+  public void withExceptionOnCallerThread() {
+    IOException exception = new IOException();
+    try (SneakyScope scope = new SneakyScope(Runnable::run)) {
+      scope.fork(() -> "foo");
+      scope.fork(
+          () -> {
+            throw exception;
+          });
+
+      assertSame(exception, assertThrows(IOException.class, scope::join));
+      assertFalse(Thread.interrupted());
+    }
+  }
+
+  @Test
+  public void invokeAllKeepsOrder() {
+    List<SneakySupplier<Integer, IOException>> suppliers = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int value = i;
+      suppliers.add(() -> value);
+    }
+
+    List<Integer> values = invokeAll(suppliers);
+
+    assertEquals(100, values.size());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(i, (int) values.get(i));
+    }
+  }
+
+  @Test
+  public void illegalState() {
+    try (SneakyScope scope = new SneakyScope(Runnable::run)) {
+      Supplier<String> foo = scope.fork(() -> "foo");
+
+      assertThrows(IllegalStateException.class, foo::get);
+      scope.join();
+      assertThrows(IllegalStateException.class, () -> scope.fork(() -> "bar"));
+      assertEquals("foo", foo.get());
+    }
+  }
+}
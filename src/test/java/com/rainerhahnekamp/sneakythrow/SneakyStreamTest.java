@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+public class SneakyStreamTest {
+  private final List<String> numbers =
+      IntStream.range(0, 1000).mapToObj(Integer::toString).collect(Collectors.toList());
+
+  @Test
+  public void withoutException() {
+    List<Integer> evens =
+        stream(numbers).map(this::parse).filter(this::isEven).map(i -> i / 2).toList();
+
+    assertEquals(IntStream.range(0, 500).boxed().collect(Collectors.toList()), evens);
+    assertEquals(Optional.of(499500), stream(numbers).map(this::parse).reduce(Integer::sum));
+    assertEquals(499500, (int) stream(numbers).map(this::parse).reduce(0, (a, b) -> a + b));
+    assertEquals(1000, stream(numbers).count());
+    assertEquals("0,1,2", stream(Arrays.asList("0", "1", "2")).collect(Collectors.joining(",")));
+    assertThrows(UnsupportedOperationException.class, () -> evens.add(1));
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    List<String> visited = new ArrayList<>();
+
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () ->
+                stream(numbers)
+                    .map(this::parse)
+                    .filter(
+                        i -> {
+                          if (i == 10) {
+                            throw exception;
+                          }
+                          return true;
+                        })
+                    .forEach(i -> visited.add(Integer.toString(i))));
+
+    assertSame(exception, thrown);
+    assertEquals(numbers.subList(0, 10), visited);
+  }
+
+  @Test
+  public void flatMap() {
+    List<String> flattened =
+        stream(Arrays.asList("a,b", "", "c"))
+            .flatMap(value -> value.isEmpty() ? null : Stream.of(value.split(",")))
+            .toList();
+
+    assertEquals(Arrays.asList("a", "b", "c"), flattened);
+  }
+
+  @Test
+  public void empty() {
+    SneakyStream<Integer> empty = stream(Collections.<String>emptyList()).map(this::parse);
+
+    assertEquals(Optional.empty(), empty.reduce(Integer::sum));
+    assertEquals(0, (int) empty.reduce(0, Integer::sum));
+    assertEquals(Optional.empty(), empty.parallel().reduce(Integer::sum));
+    assertEquals(Collections.emptyList(), empty.parallel().toList());
+  }
+
+  @Test
+  public void reusable() {
+    List<String> source = new ArrayList<>(Arrays.asList("1", "2"));
+    SneakyStream<Integer> parsed = stream(source).map(this::parse);
+
+    assertEquals(Arrays.asList(1, 2), parsed.toList());
+    source.add("3");
+    assertEquals(Arrays.asList(1, 2, 3), parsed.toList());
+  }
+
+  @Test
+  public void parallel() {
+    SneakyStream<Integer> evens = stream(numbers).parallel().map(this::parse).filter(this::isEven);
+    Set<Integer> visited = ConcurrentHashMap.newKeySet();
+
+    evens.forEach(visited::add);
+
+    assertTrue(evens.isParallel());
+    assertFalse(evens.sequential().isParallel());
+    assertEquals(evens.sequential().toList(), evens.toList());
+    assertEquals(500, visited.size());
+    assertEquals(Optional.of(249500), evens.reduce(Integer::sum));
+    assertEquals(249500, (int) evens.reduce(0, Integer::sum));
+    assertEquals(500, evens.count());
+  }
+
+  @Test
+  public void parallelWithException() {
+    IOException exception = new IOException();
+
+    IOException thrown =
+        assertThrows(
+            IOException.class,
+            () ->
+                stream(numbers)
+                    .parallel()
+                    .map(
+                        value -> {
+                          if (value.equals("500")) {
+                            throw exception;
+                          }
+                          return value;
+                        })
+                    .toList());
+
+    assertSame(exception, thrown);
+  }
+
+  private int parse(String value) throws IOException {
+    return Integer.parseInt(value);
+  }
+
+  private boolean isEven(int value) throws IOException {
+    return value % 2 == 0;
+  }
+}
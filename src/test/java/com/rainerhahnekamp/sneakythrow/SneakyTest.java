@@ -29,8 +29,11 @@ import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiFunction;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -56,4 +59,77 @@ class SneakyTest {
   public void withException() {
     assertThrows(ClassNotFoundException.class, () -> sneak(() -> Class.forName("java.string")));
   }
+
+  @Test
+  public void runnable() {
+    List<Integer> list = new ArrayList<>();
+    sneak(
+        () -> {
+          list.add(5);
+        });
+
+    assertEquals(1, list.size());
+  }
+
+  @Test
+  public void runnableWithException() {
+    assertThrows(
+        IOException.class,
+        () ->
+            sneak(
+                () -> {
+                  throw new IOException();
+                }));
+  }
+
+  @Test
+  public void function() {
+    assertEquals(
+        "https", sneak((String url) -> new URL(url), "https://www.hahnekamp.com").getProtocol());
+    assertThrows(MalformedURLException.class, () -> sneak((String url) -> new URL(url), "foo"));
+  }
+
+  @Test
+  public void biFunction() {
+    assertEquals(
+        "www.hahnekamp.com",
+        sneak((String p, String h) -> new URL(p, h, ""), "https", "www.hahnekamp.com").getHost());
+    assertThrows(
+        MalformedURLException.class,
+        () -> sneak((String p, String h) -> new URL(p, h, ""), "foo", "bar"));
+  }
+
+  @Test
+  public void consumer() {
+    List<URL> urls = new ArrayList<>();
+    sneak(
+        (String url) -> {
+          urls.add(new URL(url));
+        },
+        "https://www.hahnekamp.com");
+
+    assertEquals(1, urls.size());
+  }
+
+  @Test
+  public void biConsumer() {
+    List<URL> urls = new ArrayList<>();
+    sneak(
+        (List<URL> l, String url) -> {
+          l.add(new URL(url));
+        },
+        urls,
+        "https://www.hahnekamp.com");
+
+    assertEquals(1, urls.size());
+    assertThrows(
+        MalformedURLException.class,
+        () ->
+            sneak(
+                (List<URL> l, String url) -> {
+                  l.add(new URL(url));
+                },
+                urls,
+                "hahnekamp"));
+  }
 }
@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.specialized;
+import static java.lang.Integer.parseInt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBiConsumer;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class SpecializedTest {
+  @Test
+  public void withoutException() {
+    List<Integer> list = new ArrayList<>();
+
+    specialized((SneakyBiConsumer<List<Integer>, Integer, IOException>) List::add).accept(list, 1);
+    assertEquals(3, (int) specialized((Integer a, Integer b) -> a + b).apply(1, 2));
+    assertEquals(
+        3,
+        (int) specialized((SneakyBinaryOperator<Integer, IOException>) Integer::sum).apply(1, 2));
+    assertTrue(specialized((String a, String b) -> a.equals(b)).test("a", "a"));
+    specialized(
+            (Integer i) -> {
+              list.add(i);
+            })
+        .accept(2);
+    assertEquals(5, (int) specialized((String b) -> parseInt(b)).apply("5"));
+    assertFalse(specialized((String s) -> s.isEmpty()).test("a"));
+    specialized(
+            () -> {
+              list.add(3);
+            })
+        .run();
+    assertEquals("a", specialized(() -> "a").get());
+    assertEquals(
+        "a", specialized((SneakyUnaryOperator<String, IOException>) String::trim).apply(" a "));
+
+    assertEquals(3, list.size());
+  }
+
+  @Test
+  public void withException() {
+    Function<Integer, Integer> function = specialized(this::exceptionOn1);
+    Supplier<String> supplier =
+        specialized(
+            () -> {
+              throw new IOException();
+            });
+
+    assertEquals(2, (int) function.apply(2));
+    assertThrows(Exception.class, () -> function.apply(1));
+    assertThrows(IOException.class, supplier::get);
+  }
+
+  @Test
+  public void wrapperClassPerLambdaClass() {
+    SneakyFunction<String, Integer, Exception> length = String::length;
+    SneakyFunction<String, Integer, Exception> hashCode = String::hashCode;
+
+    assertNotEquals(specialized(length).getClass(), specialized(hashCode).getClass());
+    assertSame(specialized(length).getClass(), specialized(length).getClass());
+    assertEquals(1, (int) specialized(length).apply("a"));
+    assertEquals("a".hashCode(), (int) specialized(hashCode).apply("a"));
+  }
+
+  private int exceptionOn1(int a) throws Exception {
+    if (a == 1) {
+      throw new Exception("not working");
+    }
+    return a;
+  }
+}
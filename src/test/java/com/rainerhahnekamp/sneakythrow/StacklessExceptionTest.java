@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneaked;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+public class StacklessExceptionTest {
+  @Test
+  public void hasNoStackTrace() {
+    Supplier<String> supplier =
+        sneaked(
+            () -> {
+              throw new StacklessException("foo");
+            });
+
+    StacklessException exception = assertThrows(StacklessException.class, supplier::get);
+    assertEquals("foo", exception.getMessage());
+    assertEquals(0, exception.getStackTrace().length);
+  }
+
+  @Test
+  public void keepsCauseAndSuppressed() {
+    IOException cause = new IOException();
+    IOException suppressed = new IOException();
+    StacklessException exception = new StacklessException("foo", cause);
+    exception.addSuppressed(suppressed);
+
+    assertSame(cause, exception.getCause());
+    assertSame(suppressed, exception.getSuppressed()[0]);
+  }
+}
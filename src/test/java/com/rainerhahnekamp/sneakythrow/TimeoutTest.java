@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.timed;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.withTimeout;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeoutTest {
+  @Test
+  public void withoutException() {
+    assertEquals("foo", withTimeout(() -> "foo", Duration.ofSeconds(10)));
+
+    Function<String, Integer> length = timed(String::length, Duration.ofSeconds(10));
+    assertEquals(3, (int) length.apply("foo"));
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  @Test
+  public void withException() {
+    IOException exception = new IOException();
+    assertSame(
+        exception,
+        assertThrows(
+            IOException.class,
+            () ->
+                withTimeout(
+                    () -> {
+                      throw exception;
+                    },
+                    Duration.ofSeconds(10))));
+  }
+
+  @Test
+  public void interruptsSlowCall() {
+    TimeoutException timeout =
+        assertThrows(
+            TimeoutException.class,
+            () ->
+                withTimeout(
+                    () -> {
+                      Thread.sleep(10_000);
+                      return "foo";
+                    },
+                    Duration.ofMillis(20)));
+
+    assertEquals(1, timeout.getSuppressed().length);
+    assertTrue(timeout.getSuppressed()[0] instanceof InterruptedException);
+    assertFalse(Thread.currentThread().isInterrupted());
+  }
+
+  @Test
+  public void timesOutCallThatIgnoresInterrupt() {
+    Function<Long, String> busy =
+        timed(
+            (Long millis) -> {
+              long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+              while (System.nanoTime() < end) {
+                Thread.yield();
+              }
+              return "foo";
+            },
+            Duration.ofMillis(10));
+
+    assertThrows(TimeoutException.class, () -> busy.apply(50L));
+    assertFalse(Thread.currentThread().isInterrupted());
+    assertEquals("foo", busy.apply(0L));
+  }
+
+  @Test
+  public void keepsInterruptFromBefore() {
+    Function<Long, String> busy =
+        timed(
+            (Long millis) -> {
+              long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+              while (System.nanoTime() < end) {
+                Thread.yield();
+              }
+              return "foo";
+            },
+            Duration.ofMillis(10));
+
+    Thread.currentThread().interrupt();
+    assertThrows(TimeoutException.class, () -> busy.apply(50L));
+    assertTrue(Thread.interrupted());
+  }
+
+  @Test
+  public void wheelExpiresAndCancels() throws InterruptedException {
+    WheelTimer timer = new WheelTimer(TimeUnit.MILLISECONDS.toNanos(1), 8);
+    CountDownLatch expired = new CountDownLatch(2);
+    AtomicInteger cancelledExpirations = new AtomicInteger();
+
+    WheelTimer.Timeout cancelled = countingTimeout(cancelledExpirations::incrementAndGet);
+    timer.schedule(cancelled, TimeUnit.MILLISECONDS.toNanos(20));
+    timer.schedule(countingTimeout(expired::countDown), TimeUnit.MILLISECONDS.toNanos(1));
+    timer.schedule(countingTimeout(expired::countDown), TimeUnit.MILLISECONDS.toNanos(60));
+
+    assertTrue(cancelled.cancel());
+    assertTrue(expired.await(5, TimeUnit.SECONDS));
+    assertEquals(0, cancelledExpirations.get());
+  }
+
+  private static WheelTimer.Timeout countingTimeout(Runnable onExpiry) {
+    return new WheelTimer.Timeout() {
+      @Override
+      void expire() {
+        onExpiry.run();
+      }
+    };
+  }
+}
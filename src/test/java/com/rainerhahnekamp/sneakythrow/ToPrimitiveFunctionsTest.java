@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedBooleanSupplier;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedObjDoubleConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedObjIntConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedObjLongConsumer;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToDoubleBiFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToDoubleFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToIntBiFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToIntFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToLongBiFunction;
+import static com.rainerhahnekamp.sneakythrow.Sneaky.sneakedToLongFunction;
+import static java.lang.Integer.parseInt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+public class ToPrimitiveFunctionsTest {
+  @Test
+  public void withoutException() {
+    List<Number> list = new ArrayList<>();
+
+    assertTrue(sneakedBooleanSupplier(() -> true).getAsBoolean());
+    sneakedObjDoubleConsumer(
+            (List<Number> l, double d) -> {
+              l.add(d);
+            })
+        .accept(list, 1.0);
+    sneakedObjIntConsumer(
+            (List<Number> l, int i) -> {
+              l.add(i);
+            })
+        .accept(list, 1);
+    sneakedObjLongConsumer(
+            (List<Number> l, long j) -> {
+              l.add(j);
+            })
+        .accept(list, 1L);
+    assertEquals(3, list.size());
+
+    assertEquals(
+        3.0,
+        sneakedToDoubleBiFunction((String a, String b) -> parseInt(a + b)).applyAsDouble("0", "3"));
+    assertEquals(3.0, sneakedToDoubleFunction((String a) -> parseInt(a)).applyAsDouble("3"));
+    assertEquals(
+        3, sneakedToIntBiFunction((String a, String b) -> parseInt(a + b)).applyAsInt("0", "3"));
+    assertEquals(3, sneakedToIntFunction((String a) -> parseInt(a)).applyAsInt("3"));
+    assertEquals(
+        3L, sneakedToLongBiFunction((String a, String b) -> parseInt(a + b)).applyAsLong("0", "3"));
+    assertEquals(3L, sneakedToLongFunction((String a) -> parseInt(a)).applyAsLong("3"));
+  }
+
+  @Test
+  public void withException() {
+    ToIntFunction<String> port = sneakedToIntFunction((String url) -> new URL(url).getPort());
+
+    assertEquals(8080, port.applyAsInt("https://www.hahnekamp.com:8080"));
+    assertThrows(MalformedURLException.class, () -> port.applyAsInt("hahnekamp"));
+  }
+}
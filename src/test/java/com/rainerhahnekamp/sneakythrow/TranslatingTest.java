@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static com.rainerhahnekamp.sneakythrow.Sneaky.translating;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.rainerhahnekamp.sneakythrow.functional.SneakyBinaryOperator;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyFunction;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyRunnable;
+import com.rainerhahnekamp.sneakythrow.functional.SneakyUnaryOperator;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class TranslatingTest {
+  private final ExceptionTranslator translator =
+      ExceptionTranslator.of(IOException.class, UncheckedIOException::new)
+          .and(SQLException.class, e -> new IllegalStateException(e.getSQLState(), e));
+
+  @Test
+  public void translatesByClassHierarchy() {
+    FileNotFoundException fileNotFound = new FileNotFoundException();
+
+    UncheckedIOException unchecked =
+        assertThrows(
+            UncheckedIOException.class,
+            () ->
+                translating(
+                        translator,
+                        (SneakyRunnable<IOException>)
+                            () -> {
+                              throw fileNotFound;
+                            })
+                    .run());
+    assertSame(fileNotFound, unchecked.getCause());
+
+    assertEquals(
+        "42",
+        assertThrows(IllegalStateException.class, () -> fail(new SQLException("foo", "42")))
+            .getMessage());
+  }
+
+  @Test
+  public void mostSpecificTranslationWins() {
+    ExceptionTranslator specific =
+        translator.and(MalformedURLException.class, e -> new IllegalArgumentException(e));
+
+    assertThrows(
+        IllegalArgumentException.class, () -> throw_(specific, new MalformedURLException()));
+    assertThrows(UncheckedIOException.class, () -> throw_(specific, new IOException()));
+    assertThrows(
+        IllegalArgumentException.class, () -> throw_(specific, new MalformedURLException()));
+  }
+
+  @Test
+  public void rethrowsUntranslated() {
+    InterruptedException interrupted = new InterruptedException();
+    IllegalStateException illegalState = new IllegalStateException();
+
+    assertSame(interrupted, assertThrows(InterruptedException.class, () -> fail(interrupted)));
+    assertSame(illegalState, assertThrows(IllegalStateException.class, () -> fail(illegalState)));
+  }
+
+  @Test
+  public void allFunctionalInterfaces() {
+    List<Integer> list = new ArrayList<>();
+
+    translating(
+            translator,
+            (List<Integer> l, Integer i) -> {
+              l.add(i);
+            })
+        .accept(list, 1);
+    assertEquals(3, (int) translating(translator, (Integer a, Integer b) -> a + b).apply(1, 2));
+    assertEquals(
+        3,
+        (int)
+            translating(translator, (SneakyBinaryOperator<Integer, IOException>) Integer::sum)
+                .apply(1, 2));
+    assertTrue(translating(translator, (String a, String b) -> a.equals(b)).test("a", "a"));
+    translating(
+            translator,
+            (Integer i) -> {
+              list.add(i);
+            })
+        .accept(2);
+    assertEquals(5, (int) translating(translator, (String s) -> Integer.parseInt(s)).apply("5"));
+    assertTrue(translating(translator, (String s) -> s.isEmpty()).test(""));
+    translating(
+            translator,
+            () -> {
+              list.add(3);
+            })
+        .run();
+    assertEquals("a", translating(translator, () -> "a").get());
+    assertEquals(
+        "a",
+        translating(translator, (SneakyUnaryOperator<String, IOException>) String::trim)
+            .apply(" a "));
+
+    assertEquals(3, list.size());
+  }
+
+  private Object fail(Exception exception) {
+    return throw_(translator, exception);
+  }
+
+  private Object throw_(ExceptionTranslator translator, Exception exception) {
+    SneakyFunction<Object, Object, Exception> throwing =
+        o -> {
+          throw exception;
+        };
+    Function<Object, Object> function = translating(translator, throwing);
+    return function.apply(null);
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018-present, Rainer Hahnekamp
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.rainerhahnekamp.sneakythrow;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Keeps the bodies of the wrappers in {@link Sneaky} small enough to be inlined by HotSpot, even
+ * when they are not hot. Anything bigger belongs into a helper method the wrapper delegates to.
+ */
+public class WrapperBytecodeSizeTest {
+  /** HotSpot's default for -XX:MaxInlineSize. -XX:FreqInlineSize is much larger. */
+  private static final int MAX_INLINE_SIZE = 35;
+
+  @Test
+  public void wrappersFitIntoInliningBudget() throws IOException {
+    Map<String, Integer> codeLengths = readCodeLengths(Sneaky.class);
+    assertFalse(codeLengths.isEmpty());
+
+    codeLengths.forEach(
+        (method, length) -> {
+          if (method.startsWith("lambda$") || method.startsWith("sneak")) {
+            assertTrue(
+                length <= MAX_INLINE_SIZE,
+                () -> method + " has " + length + " bytes of bytecode, max is " + MAX_INLINE_SIZE);
+          }
+        });
+  }
+
+  /** Returns the code length of each method, keyed by name and descriptor. */
+  private static Map<String, Integer> readCodeLengths(Class<?> type) throws IOException {
+    String resource = "/" + type.getName().replace('.', '/') + ".class";
+    try (InputStream inputStream = type.getResourceAsStream(resource)) {
+      DataInputStream in = new DataInputStream(inputStream);
+      in.readInt();
+      in.readUnsignedShort();
+      in.readUnsignedShort();
+      String[] utf8 = readConstantPool(in);
+      in.readUnsignedShort();
+      in.readUnsignedShort();
+      in.readUnsignedShort();
+      skip(in, in.readUnsignedShort() * 2);
+      int fieldCount = in.readUnsignedShort();
+      for (int i = 0; i < fieldCount; i++) {
+        skip(in, 6);
+        skipAttributes(in);
+      }
+
+      Map<String, Integer> codeLengths = new LinkedHashMap<>();
+      int methodCount = in.readUnsignedShort();
+      for (int i = 0; i < methodCount; i++) {
+        in.readUnsignedShort();
+        String name = utf8[in.readUnsignedShort()] + utf8[in.readUnsignedShort()];
+        int attributeCount = in.readUnsignedShort();
+        for (int j = 0; j < attributeCount; j++) {
+          String attribute = utf8[in.readUnsignedShort()];
+          int length = in.readInt();
+          if ("Code".equals(attribute)) {
+            skip(in, 4);
+            codeLengths.put(name, in.readInt());
+            skip(in, length - 8);
+          } else {
+            skip(in, length);
+          }
+        }
+      }
+      return codeLengths;
+    }
+  }
+
+  private static String[] readConstantPool(DataInputStream in) throws IOException {
+    int count = in.readUnsignedShort();
+    String[] utf8 = new String[count];
+    for (int i = 1; i < count; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1:
+          utf8[i] = in.readUTF();
+          break;
+        case 5:
+        case 6:
+          skip(in, 8);
+          i++;
+          break;
+        case 7:
+        case 8:
+        case 16:
+        case 19:
+        case 20:
+          skip(in, 2);
+          break;
+        case 15:
+          skip(in, 3);
+          break;
+        default:
+          skip(in, 4);
+      }
+    }
+    return utf8;
+  }
+
+  private static void skipAttributes(DataInputStream in) throws IOException {
+    int attributeCount = in.readUnsignedShort();
+    for (int i = 0; i < attributeCount; i++) {
+      in.readUnsignedShort();
+      skip(in, in.readInt());
+    }
+  }
+
+  private static void skip(DataInputStream in, int bytes) throws IOException {
+    in.readFully(new byte[bytes]);
+  }
+}